@@ -0,0 +1,194 @@
+package com.driagon.services.error.catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Catálogo de mensajes de error por locale.
+ * Los archivos se cargan y las plantillas se precompilan una sola vez al iniciar; cada locale configurado
+ * tiene su tabla completa (base, idioma e idioma_país ya combinados), por lo que resolver un mensaje es
+ * una búsqueda en un mapa y el renderizado de segmentos.
+ * <p>
+ * Archivos buscados para el basename {@code classpath:errors/messages} y el locale {@code es_MX}:
+ * {@code messages.properties}, {@code messages_es.properties} y {@code messages_es_MX.properties}
+ * (también {@code .yml} / {@code .yaml}), codificados en UTF-8.
+ */
+public class ErrorCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorCatalog.class);
+
+    private static final String[] EXTENSIONS = {".properties", ".yml", ".yaml"};
+    private static final boolean YAML_PRESENT = ClassUtils.isPresent("org.yaml.snakeyaml.Yaml", ErrorCatalog.class.getClassLoader());
+
+    /**
+     * Máximo de locales de petición distintos cuya resolución se guarda
+     */
+    private static final int MAX_RESOLVED_LOCALES = 64;
+
+    private final Locale defaultLocale;
+    private final Map<String, MessageTemplate> rootTable;
+    private final Map<Locale, Map<String, MessageTemplate>> tables;
+    private final Map<String, MessageTemplate> defaultTable;
+    private final ConcurrentMap<Locale, Map<String, MessageTemplate>> resolved = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MessageTemplate> defaultMessages = new ConcurrentHashMap<>();
+
+    /**
+     * @param messages Mensajes por locale; {@link Locale#ROOT} contiene los mensajes base
+     * @param defaultLocale Locale usado cuando la petición no indica uno
+     */
+    public ErrorCatalog(Map<Locale, Map<String, String>> messages, Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        this.rootTable = compile(messages.getOrDefault(Locale.ROOT, Map.of()), compiled);
+
+        Map<Locale, Map<String, MessageTemplate>> localeTables = new HashMap<>();
+        for (Locale locale : messages.keySet()) {
+            if (Locale.ROOT.equals(locale)) {
+                continue;
+            }
+            Map<String, MessageTemplate> table = new HashMap<>(rootTable);
+            Locale language = Locale.forLanguageTag(locale.getLanguage());
+            if (!language.equals(locale) && messages.containsKey(language)) {
+                table.putAll(compile(messages.get(language), compiled));
+            }
+            table.putAll(compile(messages.get(locale), compiled));
+            localeTables.put(locale, Map.copyOf(table));
+        }
+        this.tables = Map.copyOf(localeTables);
+        this.defaultTable = defaultLocale != null ? tables.getOrDefault(defaultLocale, rootTable) : rootTable;
+    }
+
+    /**
+     * Catálogo sin archivos: solo se usan los mensajes por defecto de cada código
+     */
+    public static ErrorCatalog empty() {
+        return new ErrorCatalog(Map.of(), null);
+    }
+
+    /**
+     * Carga los archivos del catálogo para los locales indicados
+     * @param basename Ubicación base de los archivos, por ejemplo {@code classpath:errors/messages}
+     */
+    public static ErrorCatalog load(ResourceLoader resourceLoader, String basename, List<Locale> locales, Locale defaultLocale) {
+        List<Locale> candidates = new ArrayList<>();
+        candidates.add(Locale.ROOT);
+        for (Locale locale : locales) {
+            Locale language = Locale.forLanguageTag(locale.getLanguage());
+            if (!candidates.contains(language)) {
+                candidates.add(language);
+            }
+            if (!candidates.contains(locale)) {
+                candidates.add(locale);
+            }
+        }
+
+        Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+        for (Locale locale : candidates) {
+            String prefix = Locale.ROOT.equals(locale) ? basename : basename + "_" + locale;
+            Map<String, String> localeMessages = new HashMap<>();
+            for (String extension : EXTENSIONS) {
+                Resource resource = resourceLoader.getResource(prefix + extension);
+                if (resource.exists()) {
+                    localeMessages.putAll(read(resource, extension));
+                }
+            }
+            if (!localeMessages.isEmpty() || locales.contains(locale)) {
+                messages.put(locale, localeMessages);
+            }
+        }
+        return new ErrorCatalog(messages, defaultLocale);
+    }
+
+    /**
+     * Renderiza el mensaje del código para el locale de la petición
+     * @param locale Locale de la petición; si es null se usa el locale por defecto
+     */
+    public String getMessage(ErrorCode errorCode, Locale locale, Object... args) {
+        return getTemplate(errorCode, locale).render(args);
+    }
+
+    public MessageTemplate getTemplate(ErrorCode errorCode, Locale locale) {
+        MessageTemplate template = table(locale).get(errorCode.key());
+        if (template != null) {
+            return template;
+        }
+        return defaultMessages.computeIfAbsent(errorCode.key(), key -> MessageTemplate.compile(errorCode.defaultMessage()));
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    /**
+     * Tabla del locale más cercano: idioma_país, idioma, locale por defecto y por último los mensajes base
+     */
+    private Map<String, MessageTemplate> table(Locale locale) {
+        if (locale == null || tables.isEmpty()) {
+            return defaultTable;
+        }
+        Map<String, MessageTemplate> table = resolved.get(locale);
+        if (table != null) {
+            return table;
+        }
+        table = tables.get(locale);
+        if (table == null) {
+            table = tables.getOrDefault(Locale.forLanguageTag(locale.getLanguage()), defaultTable);
+        }
+        if (resolved.size() < MAX_RESOLVED_LOCALES) {
+            resolved.putIfAbsent(locale, table);
+        }
+        return table;
+    }
+
+    private static Map<String, MessageTemplate> compile(Map<String, String> messages, Map<String, MessageTemplate> compiled) {
+        Map<String, MessageTemplate> table = new HashMap<>();
+        // Los patrones repetidos entre locales comparten la misma plantilla
+        messages.forEach((key, pattern) -> table.put(key, compiled.computeIfAbsent(pattern, MessageTemplate::compile)));
+        return table;
+    }
+
+    private static Map<String, String> read(Resource resource, String extension) {
+        Properties properties;
+        if (".properties".equals(extension)) {
+            properties = new Properties();
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                log.warn("No se pudo leer el catálogo de errores {}: {}", resource, e.getMessage());
+                return Map.of();
+            }
+        } else if (YAML_PRESENT) {
+            YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+            yaml.setResources(resource);
+            properties = yaml.getObject();
+        } else {
+            log.warn("Se ignora el catálogo de errores {}: SnakeYAML no está en el classpath", resource);
+            return Map.of();
+        }
+
+        Map<String, String> messages = new HashMap<>();
+        if (properties != null) {
+            properties.stringPropertyNames().forEach(key -> messages.put(key, properties.getProperty(key)));
+        }
+        return messages;
+    }
+}
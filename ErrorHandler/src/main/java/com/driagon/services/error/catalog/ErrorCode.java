@@ -0,0 +1,36 @@
+package com.driagon.services.error.catalog;
+
+/**
+ * Código de error estable del catálogo.
+ * Se implementa normalmente con un enum, de modo que cada código es una constante única:
+ * <pre>
+ * public enum UserErrors implements ErrorCode {
+ *     USER_NOT_FOUND("user.not-found", "Usuario {0} no encontrado");
+ *
+ *     private final String key;
+ *     private final String defaultMessage;
+ *
+ *     UserErrors(String key, String defaultMessage) {
+ *         this.key = key;
+ *         this.defaultMessage = defaultMessage;
+ *     }
+ *
+ *     public String key() { return key; }
+ *     public String defaultMessage() { return defaultMessage; }
+ * }
+ * </pre>
+ */
+public interface ErrorCode {
+
+    /**
+     * Clave del mensaje en el catálogo; se expone como {@code errorCode} en la respuesta
+     */
+    String key();
+
+    /**
+     * Plantilla usada cuando ningún archivo del catálogo define la clave
+     */
+    default String defaultMessage() {
+        return key();
+    }
+}
@@ -0,0 +1,31 @@
+package com.driagon.services.error.catalog;
+
+/**
+ * Mensajes propios de los manejadores de la librería.
+ * Pueden traducirse o reemplazarse definiendo sus claves en los archivos del catálogo.
+ */
+public enum HandlerErrorCode implements ErrorCode {
+
+    VALIDATION("error.handler.validation", "Error de validación"),
+    UNAUTHORIZED("error.handler.unauthorized", "Acceso no autorizado: {0}"),
+    INTERNAL_ERROR("error.handler.internal-error", "Se ha producido un error en el servidor: {0}"),
+    UNEXPECTED_ERROR("error.handler.unexpected-error", "Error de servidor inesperado");
+
+    private final String key;
+    private final String defaultMessage;
+
+    HandlerErrorCode(String key, String defaultMessage) {
+        this.key = key;
+        this.defaultMessage = defaultMessage;
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public String defaultMessage() {
+        return defaultMessage;
+    }
+}
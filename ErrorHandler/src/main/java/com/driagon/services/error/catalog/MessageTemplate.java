@@ -0,0 +1,92 @@
+package com.driagon.services.error.catalog;
+
+/**
+ * Plantilla de mensaje precompilada en segmentos literales y argumentos posicionales {@code {0}}, {@code {1}}...
+ * El patrón se analiza una sola vez; al renderizar solo se concatenan los segmentos.
+ * Un placeholder sin argumento correspondiente se deja tal cual, como en {@link java.text.MessageFormat}.
+ */
+public final class MessageTemplate {
+
+    private final String pattern;
+
+    /**
+     * Segmentos literales; siempre hay uno más que argumentos
+     */
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final int literalLength;
+
+    private MessageTemplate(String pattern, String[] literals, int[] argumentIndexes) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String pattern) {
+        int count = 0;
+        for (int i = pattern.indexOf('{'); i >= 0; i = pattern.indexOf('{', i + 1)) {
+            if (placeholderEnd(pattern, i) > 0) {
+                count++;
+            }
+        }
+
+        String[] literals = new String[count + 1];
+        int[] argumentIndexes = new int[count];
+        int segment = 0;
+        int literalStart = 0;
+        for (int i = pattern.indexOf('{'); i >= 0 && segment < count; i = pattern.indexOf('{', i + 1)) {
+            int end = placeholderEnd(pattern, i);
+            if (end > 0) {
+                literals[segment] = pattern.substring(literalStart, i);
+                argumentIndexes[segment] = Integer.parseInt(pattern, i + 1, end, 10);
+                segment++;
+                literalStart = end + 1;
+                i = end;
+            }
+        }
+        literals[count] = pattern.substring(literalStart);
+        return new MessageTemplate(pattern, literals, argumentIndexes);
+    }
+
+    /**
+     * Posición de la llave que cierra un placeholder numérico iniciado en {@code start}, o -1
+     */
+    private static int placeholderEnd(String pattern, int start) {
+        int i = start + 1;
+        while (i < pattern.length() && i - start <= 3 && Character.isDigit(pattern.charAt(i))) {
+            i++;
+        }
+        return i > start + 1 && i < pattern.length() && pattern.charAt(i) == '}' ? i : -1;
+    }
+
+    public String render(Object... args) {
+        if (argumentIndexes.length == 0) {
+            return literals[0];
+        }
+        StringBuilder message = new StringBuilder(literalLength + 16 * argumentIndexes.length);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            message.append(literals[i]);
+            int index = argumentIndexes[i];
+            if (args != null && index < args.length) {
+                message.append(args[index]);
+            } else {
+                message.append('{').append(index).append('}');
+            }
+        }
+        return message.append(literals[argumentIndexes.length]).toString();
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
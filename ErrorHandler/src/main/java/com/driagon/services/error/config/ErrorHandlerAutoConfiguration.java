@@ -1,11 +1,33 @@
 
 package com.driagon.services.error.config;
 
+import com.driagon.services.error.catalog.ErrorCatalog;
+import com.driagon.services.error.converter.ErrorResponseHttpMessageConverter;
+import com.driagon.services.error.exceptions.ExceptionFactory;
+import com.driagon.services.error.handler.ExceptionAggregator;
 import com.driagon.services.error.handler.GlobalExceptionHandler;
+import com.driagon.services.error.handler.PrecomputedErrorResponses;
+import com.driagon.services.error.handler.ReactiveExceptionHandler;
+import com.driagon.services.error.handler.ValidationErrorCollector;
+import com.driagon.services.error.metrics.ErrorMetrics;
+import com.driagon.services.error.metrics.ErrorMetricsEndpoint;
+import com.driagon.services.error.metrics.ErrorMetricsMeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 @Configuration
 @ConditionalOnProperty(
@@ -16,9 +38,163 @@ import org.springframework.context.annotation.Configuration;
 )
 public class ErrorHandlerAutoConfiguration {
 
+    /**
+     * Fábrica de excepciones de negocio; con {@code error.handler.exception-factory.stackless=true} las que se
+     * crean con ella no capturan el stack trace. No afecta a las excepciones creadas directamente con {@code new}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionFactory exceptionFactory(@Value("${error.handler.exception-factory.stackless:false}") boolean stacklessExceptions) {
+        return new ExceptionFactory(stacklessExceptions);
+    }
+
+    /**
+     * Log agregado de excepciones no controladas: la primera ocurrencia completa y luego resúmenes periódicos
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "error.handler.exception-aggregation", name = "enabled", havingValue = "true")
+    public ExceptionAggregator exceptionAggregator(
+            @Value("${error.handler.exception-aggregation.max-fingerprints:1000}") int maxFingerprints,
+            @Value("${error.handler.exception-aggregation.frames:5}") int frames,
+            @Value("${error.handler.exception-aggregation.interval:10s}") Duration interval) {
+        return new ExceptionAggregator(maxFingerprints, frames, interval.toMillis());
+    }
+
+    /**
+     * Catálogo de mensajes por código de error, cargado y precompilado al iniciar
+     */
     @Bean
     @ConditionalOnMissingBean
-    public GlobalExceptionHandler globalExceptionHandler() {
-        return new GlobalExceptionHandler();
+    public ErrorCatalog errorCatalog(
+            ResourceLoader resourceLoader,
+            @Value("${error.handler.catalog.basename:classpath:errors/messages}") String basename,
+            @Value("${error.handler.catalog.locales:}") String[] locales,
+            @Value("${error.handler.catalog.default-locale:}") String defaultLocale) {
+        List<Locale> catalogLocales = Arrays.stream(locales)
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .map(StringUtils::parseLocale)
+                .toList();
+        return ErrorCatalog.load(resourceLoader, basename, catalogLocales, StringUtils.parseLocale(defaultLocale));
+    }
+
+    /**
+     * Conversión de los errores de validación, compartida por los handlers servlet y reactivo.
+     * Sin {@code error.handler.validation.max-details} no se recortan los detalles
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ValidationErrorCollector validationErrorCollector(
+            @Value("${error.handler.validation.max-details:" + ValidationErrorCollector.UNLIMITED + "}") int maxDetails,
+            @Value("${error.handler.validation.group-indexed-paths:false}") boolean groupIndexedPaths) {
+        return new ValidationErrorCollector(maxDetails, groupIndexedPaths);
+    }
+
+    /**
+     * Aplicaciones servlet (Spring MVC): {@link GlobalExceptionHandler} como {@code @RestControllerAdvice}
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public GlobalExceptionHandler globalExceptionHandler(
+                @Value("${error.handler.precomputed-responses.enabled:false}") boolean precomputedResponses,
+                @Value("${error.handler.precomputed-responses.max-entries:1024}") int maxEntries,
+                @Value("${error.handler.streaming-converter.enabled:false}") boolean streamingConverter,
+                @Value("${error.handler.streaming-converter.problem-json:false}") boolean problemJson,
+                ObjectProvider<ExceptionAggregator> exceptionAggregator,
+                ObjectProvider<ErrorMetrics> errorMetrics,
+                ValidationErrorCollector validationErrorCollector,
+                ErrorCatalog errorCatalog) {
+            return new GlobalExceptionHandler(
+                    precomputedResponses ? new PrecomputedErrorResponses(maxEntries, streamingConverter && problemJson) : null,
+                    exceptionAggregator.getIfAvailable(),
+                    errorMetrics.getIfAvailable(),
+                    validationErrorCollector,
+                    errorCatalog
+            );
+        }
+
+        /**
+         * Converter sin Jackson para {@link com.driagon.services.error.models.ErrorResponse}.
+         * Spring Boot registra los beans de tipo HttpMessageConverter antes de los converters por defecto.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "error.handler.streaming-converter", name = "enabled", havingValue = "true")
+        public ErrorResponseHttpMessageConverter errorResponseHttpMessageConverter(
+                @Value("${error.handler.streaming-converter.problem-json:false}") boolean problemJson) {
+            return new ErrorResponseHttpMessageConverter(problemJson);
+        }
+    }
+
+    /**
+     * Aplicaciones reactivas (WebFlux): {@link ReactiveExceptionHandler} como {@code ErrorWebExceptionHandler}
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(name = "org.springframework.web.reactive.DispatcherHandler")
+    static class ReactiveConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveExceptionHandler reactiveExceptionHandler(
+                @Value("${error.handler.precomputed-responses.enabled:false}") boolean precomputedResponses,
+                @Value("${error.handler.precomputed-responses.max-entries:1024}") int maxEntries,
+                @Value("${error.handler.streaming-converter.problem-json:false}") boolean problemJson,
+                ObjectProvider<ExceptionAggregator> exceptionAggregator,
+                ObjectProvider<ErrorMetrics> errorMetrics,
+                ValidationErrorCollector validationErrorCollector,
+                ErrorCatalog errorCatalog) {
+            return new ReactiveExceptionHandler(
+                    precomputedResponses ? new PrecomputedErrorResponses(maxEntries, problemJson) : null,
+                    exceptionAggregator.getIfAvailable(),
+                    errorMetrics.getIfAvailable(),
+                    validationErrorCollector,
+                    errorCatalog,
+                    problemJson
+            );
+        }
+    }
+
+    /**
+     * Contadores de errores por excepción, status y ruta.
+     * Se exponen en Micrometer si está en el classpath; si no, en el endpoint de actuator {@code errormetrics}
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "error.handler.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ErrorMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorMetrics errorMetrics(@Value("${error.handler.metrics.max-series:1000}") int maxSeries) {
+            return new ErrorMetrics(maxSeries);
+        }
+
+        @Configuration
+        @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+        static class MicrometerConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public ErrorMetricsMeterBinder errorMetricsMeterBinder(ErrorMetrics errorMetrics) {
+                return new ErrorMetricsMeterBinder(errorMetrics);
+            }
+        }
+
+        @Configuration
+        @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+        @ConditionalOnMissingClass("io.micrometer.core.instrument.binder.MeterBinder")
+        static class EndpointConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public ErrorMetricsEndpoint errorMetricsEndpoint(ErrorMetrics errorMetrics) {
+                return new ErrorMetricsEndpoint(errorMetrics);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package com.driagon.services.error.converter;
+
+import com.driagon.services.error.json.ErrorResponseJsonWriter;
+import com.driagon.services.error.json.Utf8JsonWriter;
+import com.driagon.services.error.models.ErrorResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converter de solo escritura para {@link ErrorResponse} que serializa sin Jackson.
+ * Con {@code application/problem+json} escribe el formato RFC 7807; con {@code application/json}
+ * escribe el formato legado.
+ * <p>
+ * Cada hilo reutiliza su buffer, por lo que una ráfaga de errores casi no genera basura.
+ * Los buffers que crecen por respuestas muy grandes se descartan para no retener memoria.
+ */
+public class ErrorResponseHttpMessageConverter extends AbstractHttpMessageConverter<ErrorResponse> {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<Utf8JsonWriter> WRITERS = ThreadLocal.withInitial(() -> new Utf8JsonWriter(INITIAL_CAPACITY));
+
+    private final ErrorResponseJsonWriter jsonWriter = new ErrorResponseJsonWriter();
+
+    /**
+     * @param problemJson Si es true se ofrece {@code application/problem+json} como tipo preferido
+     */
+    public ErrorResponseHttpMessageConverter(boolean problemJson) {
+        super(StandardCharsets.UTF_8, problemJson
+                ? new MediaType[]{MediaType.APPLICATION_PROBLEM_JSON, MediaType.APPLICATION_JSON}
+                : new MediaType[]{MediaType.APPLICATION_JSON});
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ErrorResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ErrorResponse readInternal(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ErrorResponseHttpMessageConverter solo soporta escritura", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ErrorResponse error, HttpOutputMessage outputMessage) throws IOException {
+        Utf8JsonWriter writer = WRITERS.get().reset();
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (contentType != null && MediaType.APPLICATION_PROBLEM_JSON.equalsTypeAndSubtype(contentType)) {
+            jsonWriter.writeProblem(error, writer);
+        } else {
+            jsonWriter.writeLegacy(error, writer);
+        }
+
+        // Los headers aún no se envían: se conoce el tamaño exacto antes de escribir el cuerpo
+        outputMessage.getHeaders().setContentLength(writer.size());
+        writer.writeTo(outputMessage.getBody());
+
+        if (writer.capacity() > MAX_RETAINED_CAPACITY) {
+            WRITERS.remove();
+        }
+    }
+}
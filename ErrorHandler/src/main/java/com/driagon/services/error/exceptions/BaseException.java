@@ -1,25 +1,114 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCatalog;
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
+import java.util.function.Supplier;
 
+/**
+ * Excepción base de la librería.
+ * Las excepciones de negocio suelen usarse como control de flujo y el manejador global nunca lee
+ * su stack trace, por lo que cualquier subclase puede crearse sin él con {@link #stackless(Supplier)},
+ * o con el {@link ExceptionFactory} configurado con {@code error.handler.exception-factory.stackless}.
+ * Las creadas directamente con {@code new} siempre capturan el stack trace.
+ * Una instancia sin stack trace, sin causa asignada, es inmutable y puede preasignarse para mensajes fijos:
+ * <pre>
+ * private static final NotFoundException USER_NOT_FOUND =
+ *         BaseException.stackless(() -&gt; new NotFoundException("Usuario no encontrado"));
+ * </pre>
+ * También pueden crearse con un {@link ErrorCode} del catálogo y sus argumentos; el mensaje se renderiza
+ * con la plantilla precompilada del locale de la petición solo cuando se construye la respuesta:
+ * <pre>
+ * throw new NotFoundException(UserErrors.USER_NOT_FOUND, userId);
+ * </pre>
+ */
 public abstract class BaseException extends RuntimeException {
 
     @Serial
     private static final long serialVersionUID = 3207165888391250459L;
 
+    /**
+     * Marca las excepciones que se construyen dentro de {@link #stackless(Supplier)} en el hilo actual
+     */
+    private static final ThreadLocal<Boolean> STACKLESS_CONSTRUCTION = new ThreadLocal<>();
+
+    /**
+     * Mensajes por defecto de los códigos; los handlers resuelven el mensaje con el catálogo de la aplicación
+     */
+    private static final ErrorCatalog DEFAULT_MESSAGES = ErrorCatalog.empty();
+
     private final HttpStatus status;
     private final int code;
-    private final String message;
+    private final ErrorCode errorCode;
+    private final transient Object[] args;
+
+    /**
+     * Mensaje libre o, con código de catálogo, su mensaje por defecto renderizado al primer uso
+     */
+    private String message;
+
+    /**
+     * Causa asignada con {@link #initCause(Throwable)}. El constructor de Throwable que permite omitir el
+     * stack trace fija la causa en null, por lo que se guarda aquí para que siga pudiendo asignarse una vez
+     */
+    private Throwable cause;
+    private boolean causeInitialized;
 
     public BaseException(HttpStatus status, String message) {
-        super(message);
+        this(status, message, isStacklessConstruction());
+    }
+
+    /**
+     * @param stackless Si es true no se captura el stack trace ni se registran excepciones suprimidas
+     */
+    protected BaseException(HttpStatus status, String message, boolean stackless) {
+        super(message, null, !stackless, !stackless);
         this.status = status;
         this.code = status.value();
+        this.errorCode = null;
+        this.args = null;
         this.message = message;
     }
 
+    public BaseException(HttpStatus status, ErrorCode errorCode, Object... args) {
+        this(status, isStacklessConstruction(), errorCode, args);
+    }
+
+    /**
+     * @param stackless Si es true no se captura el stack trace ni se registran excepciones suprimidas
+     * @param args Argumentos de la plantilla del código, en orden ({@code {0}}, {@code {1}}...)
+     */
+    protected BaseException(HttpStatus status, boolean stackless, ErrorCode errorCode, Object... args) {
+        super(null, null, !stackless, !stackless);
+        this.status = status;
+        this.code = status.value();
+        this.errorCode = errorCode;
+        this.args = args;
+    }
+
+    /**
+     * Crea una excepción de cualquier subclase sin stack trace ni excepciones suprimidas.
+     * Aplica a las excepciones construidas con los constructores públicos dentro del supplier
+     * @param constructor Constructor de la excepción, por ejemplo {@code () -> new NotFoundException(message)}
+     */
+    public static <E extends BaseException> E stackless(Supplier<E> constructor) {
+        Boolean previous = STACKLESS_CONSTRUCTION.get();
+        STACKLESS_CONSTRUCTION.set(Boolean.TRUE);
+        try {
+            return constructor.get();
+        } finally {
+            if (previous == null) {
+                STACKLESS_CONSTRUCTION.remove();
+            }
+        }
+    }
+
+    private static boolean isStacklessConstruction() {
+        return STACKLESS_CONSTRUCTION.get() != null;
+    }
+
     public HttpStatus getStatus() {
         return status;
     }
@@ -28,8 +117,43 @@ public abstract class BaseException extends RuntimeException {
         return code;
     }
 
+    /**
+     * Código del catálogo; null si la excepción se creó con un mensaje libre
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    @Override
+    public synchronized Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public synchronized Throwable initCause(Throwable cause) {
+        if (causeInitialized) {
+            throw new IllegalStateException("Can't overwrite cause with " + cause, this);
+        }
+        if (cause == this) {
+            throw new IllegalArgumentException("Self-causation not permitted", this);
+        }
+        this.cause = cause;
+        this.causeInitialized = true;
+        return this;
+    }
+
     @Override
     public String getMessage() {
-        return message;
+        String rendered = message;
+        if (rendered == null && errorCode != null) {
+            // Renderizar más de una vez en una carrera produce el mismo resultado
+            rendered = DEFAULT_MESSAGES.getMessage(errorCode, null, args);
+            message = rendered;
+        }
+        return rendered;
     }
 }
\ No newline at end of file
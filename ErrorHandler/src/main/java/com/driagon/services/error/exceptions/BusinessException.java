@@ -1,5 +1,6 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
@@ -12,4 +13,8 @@ public class BusinessException extends BaseException {
     public BusinessException(String message) {
         super(HttpStatus.CONFLICT, message);
     }
-}
\ No newline at end of file
+
+    public BusinessException(ErrorCode errorCode, Object... args) {
+        super(HttpStatus.CONFLICT, errorCode, args);
+    }
+}
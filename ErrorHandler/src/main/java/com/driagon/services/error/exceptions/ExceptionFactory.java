@@ -0,0 +1,30 @@
+package com.driagon.services.error.exceptions;
+
+import java.util.function.Supplier;
+
+/**
+ * Crea las excepciones de negocio con o sin stack trace según {@code error.handler.exception-factory.stackless}.
+ * La propiedad solo aplica a las excepciones creadas con esta fábrica.
+ * <pre>
+ * throw exceptionFactory.create(() -&gt; new NotFoundException("Usuario no encontrado"));
+ * </pre>
+ */
+public class ExceptionFactory {
+
+    private final boolean stackless;
+
+    /**
+     * @param stackless Si es true las excepciones se crean sin stack trace ni excepciones suprimidas
+     */
+    public ExceptionFactory(boolean stackless) {
+        this.stackless = stackless;
+    }
+
+    public boolean isStackless() {
+        return stackless;
+    }
+
+    public <E extends BaseException> E create(Supplier<E> constructor) {
+        return stackless ? BaseException.stackless(constructor) : constructor.get();
+    }
+}
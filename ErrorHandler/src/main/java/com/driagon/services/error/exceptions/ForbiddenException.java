@@ -1,5 +1,6 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
@@ -12,4 +13,8 @@ public class ForbiddenException extends BaseException {
     public ForbiddenException(String message) {
         super(HttpStatus.FORBIDDEN, message);
     }
-}
\ No newline at end of file
+
+    public ForbiddenException(ErrorCode errorCode, Object... args) {
+        super(HttpStatus.FORBIDDEN, errorCode, args);
+    }
+}
@@ -1,5 +1,6 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
@@ -12,4 +13,8 @@ public class InvalidArgumentsException extends BaseException {
     public InvalidArgumentsException(String message) {
         super(HttpStatus.BAD_REQUEST, message);
     }
-}
\ No newline at end of file
+
+    public InvalidArgumentsException(ErrorCode errorCode, Object... args) {
+        super(HttpStatus.BAD_REQUEST, errorCode, args);
+    }
+}
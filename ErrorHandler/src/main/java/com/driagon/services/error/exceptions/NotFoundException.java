@@ -1,5 +1,6 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
@@ -12,4 +13,8 @@ public class NotFoundException extends BaseException {
     public NotFoundException(String message) {
         super(HttpStatus.NOT_FOUND, message);
     }
-}
\ No newline at end of file
+
+    public NotFoundException(ErrorCode errorCode, Object... args) {
+        super(HttpStatus.NOT_FOUND, errorCode, args);
+    }
+}
@@ -1,5 +1,6 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
@@ -12,4 +13,8 @@ public class ProcessException extends BaseException {
     public ProcessException(String message) {
         super(HttpStatus.INTERNAL_SERVER_ERROR, message);
     }
-}
\ No newline at end of file
+
+    public ProcessException(ErrorCode errorCode, Object... args) {
+        super(HttpStatus.INTERNAL_SERVER_ERROR, errorCode, args);
+    }
+}
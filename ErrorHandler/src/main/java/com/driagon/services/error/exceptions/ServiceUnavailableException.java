@@ -1,5 +1,6 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
@@ -12,4 +13,8 @@ public class ServiceUnavailableException extends BaseException {
     public ServiceUnavailableException(String message) {
         super(HttpStatus.SERVICE_UNAVAILABLE, message);
     }
-}
\ No newline at end of file
+
+    public ServiceUnavailableException(ErrorCode errorCode, Object... args) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, errorCode, args);
+    }
+}
@@ -1,5 +1,6 @@
 package com.driagon.services.error.exceptions;
 
+import com.driagon.services.error.catalog.ErrorCode;
 import org.springframework.http.HttpStatus;
 
 import java.io.Serial;
@@ -12,4 +13,8 @@ public class UnauthorizedException extends BaseException {
     public UnauthorizedException(String message) {
         super(HttpStatus.UNAUTHORIZED, message);
     }
-}
\ No newline at end of file
+
+    public UnauthorizedException(ErrorCode errorCode, Object... args) {
+        super(HttpStatus.UNAUTHORIZED, errorCode, args);
+    }
+}
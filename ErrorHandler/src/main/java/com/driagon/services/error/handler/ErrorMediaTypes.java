@@ -0,0 +1,52 @@
+package com.driagon.services.error.handler;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Negociación del tipo de contenido de las respuestas de error escritas por los handlers.
+ * Sigue el mismo criterio que los converters de Spring: gana la calidad más alta y, a igual
+ * calidad, un tipo concreto sobre un comodín. Con problem+json habilitado es el tipo preferido.
+ */
+final class ErrorMediaTypes {
+
+    private ErrorMediaTypes() {
+    }
+
+    /**
+     * @param accepted Tipos del header Accept; vacío si el cliente no lo envía
+     * @param problemJson Si se ofrece {@code application/problem+json} además de {@code application/json}
+     * @return Tipo a escribir o null si el cliente no acepta ninguno de los dos
+     */
+    static MediaType select(List<MediaType> accepted, boolean problemJson) {
+        if (accepted.isEmpty()) {
+            return problemJson ? MediaType.APPLICATION_PROBLEM_JSON : MediaType.APPLICATION_JSON;
+        }
+
+        MediaType selected = null;
+        double selectedQuality = 0.0;
+        boolean selectedSpecific = false;
+        for (MediaType type : accepted) {
+            MediaType producible = producible(type, problemJson);
+            double quality = type.getQualityValue();
+            if (producible == null || quality <= 0.0) {
+                continue;
+            }
+            boolean specific = !type.isWildcardType() && !type.isWildcardSubtype();
+            if (selected == null || quality > selectedQuality || (quality == selectedQuality && specific && !selectedSpecific)) {
+                selected = producible;
+                selectedQuality = quality;
+                selectedSpecific = specific;
+            }
+        }
+        return selected;
+    }
+
+    private static MediaType producible(MediaType accepted, boolean problemJson) {
+        if (problemJson && accepted.isCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)) {
+            return MediaType.APPLICATION_PROBLEM_JSON;
+        }
+        return accepted.isCompatibleWith(MediaType.APPLICATION_JSON) ? MediaType.APPLICATION_JSON : null;
+    }
+}
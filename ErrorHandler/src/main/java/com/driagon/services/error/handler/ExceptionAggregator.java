@@ -0,0 +1,192 @@
+package com.driagon.services.error.handler;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrega el log de excepciones no controladas para que una ráfaga de errores no sature el disco
+ * ni el pipeline de logs.
+ * <p>
+ * Cada excepción se identifica por una huella calculada con su tipo, sus primeros frames y la causa raíz.
+ * La primera ocurrencia de cada huella se registra completa, con stack trace; las siguientes solo se
+ * cuentan y se reportan en un resumen periódico ("x1234 en los últimos 10 s").
+ * La tabla de huellas es una caché acotada de Caffeine: al llenarse descarta las huellas menos usadas
+ * sin recorrer la tabla, reportando antes sus ocurrencias pendientes.
+ * Todas las instancias comparten un único hilo para los resúmenes.
+ */
+public class ExceptionAggregator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExceptionAggregator.class);
+
+    private final Cache<Long, Fingerprint> fingerprints;
+    private final int frames;
+    private final ScheduledFuture<?> summaries;
+
+    /**
+     * @param maxFingerprints Máximo de huellas distintas que se siguen a la vez
+     * @param frames Cantidad de frames superiores que forman parte de la huella
+     * @param intervalMs Intervalo entre resúmenes en milisegundos
+     */
+    public ExceptionAggregator(int maxFingerprints, int frames, long intervalMs) {
+        this.frames = frames;
+        this.fingerprints = Caffeine.newBuilder()
+                .maximumSize(maxFingerprints)
+                // El mantenimiento y el reporte de las huellas descartadas ocurren en el hilo que registra
+                .executor(Runnable::run)
+                .<Long, Fingerprint>removalListener((hash, fingerprint, cause) -> {
+                    if (cause.wasEvicted() && fingerprint != null) {
+                        report(fingerprint, System.currentTimeMillis());
+                    }
+                })
+                .build();
+        this.summaries = SharedScheduler.INSTANCE.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra una ocurrencia. Solo la primera de cada huella se escribe en el log al momento
+     */
+    public void record(Throwable ex, String path) {
+        long hash = fingerprint(ex, frames);
+        Fingerprint current = fingerprints.getIfPresent(hash);
+        if (current != null) {
+            current.pending.increment();
+            return;
+        }
+
+        Fingerprint created = new Fingerprint(hash, ex.getClass().getName(), rootCause(ex));
+        Fingerprint previous = fingerprints.asMap().putIfAbsent(hash, created);
+        if (previous != null) {
+            previous.pending.increment();
+            return;
+        }
+        log.error("Excepción no controlada {} [huella {}] en {}: {}",
+                created.exceptionClass, created.id(), path, created.rootCause, ex);
+    }
+
+    /**
+     * Escribe el resumen de las huellas con ocurrencias pendientes desde el último reporte
+     */
+    public void flush() {
+        try {
+            long now = System.currentTimeMillis();
+            for (Fingerprint fingerprint : fingerprints.asMap().values()) {
+                report(fingerprint, now);
+            }
+        } catch (RuntimeException e) {
+            // Un fallo del resumen no debe detener las ejecuciones siguientes
+            log.warn("Error al escribir el resumen de excepciones: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        fingerprints.cleanUp();
+        return (int) fingerprints.estimatedSize();
+    }
+
+    @Override
+    public void close() {
+        summaries.cancel(false);
+        flush();
+    }
+
+    private static void report(Fingerprint fingerprint, long now) {
+        long count = fingerprint.pending.sumThenReset();
+        long since = fingerprint.windowStart;
+        fingerprint.windowStart = now;
+        if (count > 0) {
+            log.error("Excepción no controlada {} [huella {}] x{} en los últimos {} s: {}",
+                    fingerprint.exceptionClass, fingerprint.id(), count,
+                    Math.max(1L, Math.round((now - since) / 1000.0)), fingerprint.rootCause);
+        }
+    }
+
+    /**
+     * Huella de la excepción: tipo, primeros frames, tipo de la causa raíz y su frame superior.
+     * No usa el mensaje, que suele incluir datos variables.
+     */
+    static long fingerprint(Throwable ex, int frames) {
+        long hash = mix(17L, ex.getClass().getName().hashCode());
+        hash = mixFrames(hash, ex.getStackTrace(), frames);
+        Throwable root = rootThrowable(ex);
+        if (root != ex) {
+            hash = mix(hash, root.getClass().getName().hashCode());
+            hash = mixFrames(hash, root.getStackTrace(), 1);
+        }
+        return hash;
+    }
+
+    private static long mixFrames(long hash, StackTraceElement[] stackTrace, int frames) {
+        int limit = Math.min(frames, stackTrace.length);
+        for (int i = 0; i < limit; i++) {
+            StackTraceElement frame = stackTrace[i];
+            hash = mix(hash, frame.getClassName().hashCode());
+            hash = mix(hash, frame.getMethodName().hashCode());
+            hash = mix(hash, frame.getLineNumber());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static Throwable rootThrowable(Throwable ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String rootCause(Throwable ex) {
+        Throwable root = rootThrowable(ex);
+        String message = root.getMessage();
+        return root.getClass().getSimpleName() + (message == null || message.isBlank() ? "" : ": " + message);
+    }
+
+    private static final class Fingerprint {
+
+        private final long hash;
+        private final String exceptionClass;
+        private final String rootCause;
+        private final LongAdder pending = new LongAdder();
+        private volatile long windowStart = System.currentTimeMillis();
+
+        private Fingerprint(long hash, String exceptionClass, String rootCause) {
+            this.hash = hash;
+            this.exceptionClass = exceptionClass;
+            this.rootCause = rootCause;
+        }
+
+        private String id() {
+            return Long.toHexString(hash);
+        }
+    }
+
+    /**
+     * Hilo daemon de los resúmenes, creado al usar el primer agregador
+     */
+    private static final class SharedScheduler {
+
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "exception-aggregator");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Los resúmenes de los agregadores cerrados no quedan retenidos en la cola
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
@@ -1,30 +1,104 @@
 package com.driagon.services.error.handler;
 
+import com.driagon.services.error.catalog.ErrorCatalog;
+import com.driagon.services.error.catalog.HandlerErrorCode;
 import com.driagon.services.error.exceptions.BaseException;
-import com.driagon.services.error.models.ErrorDetail;
+import com.driagon.services.error.metrics.ErrorMetrics;
 import com.driagon.services.error.models.ErrorResponse;
 import jakarta.servlet.ServletException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.Locale;
+
 @RestControllerAdvice
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class GlobalExceptionHandler {
 
+    /**
+     * Cuerpos pre-serializados para los errores estáticos; null si el modo está deshabilitado
+     */
+    private final PrecomputedErrorResponses precomputedResponses;
+
+    /**
+     * Agregador del log de excepciones no controladas; null si no se registran en el log
+     */
+    private final ExceptionAggregator exceptionAggregator;
+
+    /**
+     * Contadores de errores por excepción, status y ruta; null si las métricas están deshabilitadas
+     */
+    private final ErrorMetrics errorMetrics;
+
+    /**
+     * Conversión acotada de los errores de validación a detalles
+     */
+    private final ValidationErrorCollector validationErrors;
+
+    /**
+     * Plantillas de mensajes por locale para los códigos de error
+     */
+    private final ErrorCatalog errorCatalog;
+
+    /**
+     * Handler con la configuración por defecto: sin respuestas pre-serializadas, agregación ni métricas,
+     * todos los detalles de validación y los mensajes por defecto de los códigos.
+     * Permite extender la clase sin depender de los beans de la autoconfiguración
+     */
+    public GlobalExceptionHandler() {
+        this(null, null, null, ValidationErrorCollector.unlimited(), ErrorCatalog.empty());
+    }
+
+    /**
+     * @param precomputedResponses Cuerpos pre-serializados o null
+     * @param exceptionAggregator Agregador del log de excepciones no controladas o null
+     * @param errorMetrics Contadores de errores o null
+     * @param validationErrors Conversión de los errores de validación, por ejemplo {@link ValidationErrorCollector#unlimited()}
+     * @param errorCatalog Catálogo de mensajes, por ejemplo {@link ErrorCatalog#empty()}
+     */
+    public GlobalExceptionHandler(PrecomputedErrorResponses precomputedResponses, ExceptionAggregator exceptionAggregator,
+                                  ErrorMetrics errorMetrics, ValidationErrorCollector validationErrors,
+                                  ErrorCatalog errorCatalog) {
+        this.precomputedResponses = precomputedResponses;
+        this.exceptionAggregator = exceptionAggregator;
+        this.errorMetrics = errorMetrics;
+        this.validationErrors = validationErrors;
+        this.errorCatalog = errorCatalog;
+    }
+
+    /**
+     * @return {@link ErrorResponse} o, con las respuestas pre-serializadas habilitadas, el cuerpo JSON como bytes
+     */
     @ExceptionHandler(BaseException.class)
-    public ResponseEntity<ErrorResponse> handleBaseException(BaseException ex, WebRequest request) {
+    public ResponseEntity<?> handleBaseException(BaseException ex, WebRequest request) {
+        recordError(ex, ex.getCode(), request);
+
+        String errorCode = ex.getErrorCode() != null ? ex.getErrorCode().key() : null;
+        String message = errorCode != null
+                ? errorCatalog.getMessage(ex.getErrorCode(), locale(request), ex.getArgs())
+                : ex.getMessage();
+        ResponseEntity<byte[]> precomputed = precomputedResponse(ex.getStatus(), ex.getCode(), errorCode, message, request);
+        if (precomputed != null) {
+            return precomputed;
+        }
+
         ErrorResponse error = new ErrorResponse();
         error.setStatus(ex.getStatus().name());
         error.setCode(ex.getCode());
-        error.setMessage(ex.getMessage());
+        error.setErrorCode(errorCode);
+        error.setMessage(message);
         error.setPath(request.getDescription(false));
 
         return new ResponseEntity<>(error, ex.getStatus());
@@ -32,28 +106,36 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({MethodArgumentNotValidException.class, ConstraintViolationException.class})
     public ResponseEntity<ErrorResponse> handleValidationErrors(Exception ex, WebRequest request) {
+        recordError(ex, HttpStatus.BAD_REQUEST.value(), request);
+
         ErrorResponse error = new ErrorResponse();
         error.setStatus(HttpStatus.BAD_REQUEST.name());
         error.setCode(HttpStatus.BAD_REQUEST.value());
-        error.setMessage("Error de validación");
+        error.setMessage(errorCatalog.getMessage(HandlerErrorCode.VALIDATION, locale(request)));
         error.setPath(request.getDescription(false));
 
         if (ex instanceof MethodArgumentNotValidException manvEx) {
-            manvEx.getBindingResult().getFieldErrors().forEach(err ->
-                    error.getDetails().add(new ErrorDetail(err.getField(), err.getDefaultMessage(), "INVALID_FIELD"))
-            );
+            validationErrors.collectFieldErrors(manvEx.getBindingResult().getFieldErrors(), error);
         } else if (ex instanceof ConstraintViolationException cve) {
-            cve.getConstraintViolations().forEach(violation ->
-                    error.getDetails().add(new ErrorDetail(violation.getPropertyPath().toString(), violation.getMessage(), "INVALID_FIELD"))
-            );
+            validationErrors.collectViolations(cve.getConstraintViolations(), error);
         }
 
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * @return {@link ErrorResponse} o, con las respuestas pre-serializadas habilitadas, el cuerpo JSON como bytes
+     */
     @ExceptionHandler(ServletException.class)
-    public ResponseEntity<ErrorResponse> handleSpringExceptions(ServletException ex, WebRequest request) {
+    public ResponseEntity<?> handleSpringExceptions(ServletException ex, WebRequest request) {
         if (ex instanceof org.springframework.web.ErrorResponse exception) {
+            HttpStatus status = HttpStatus.valueOf(exception.getStatusCode().value());
+            recordError(ex, status.value(), request);
+            ResponseEntity<byte[]> precomputed = precomputedResponse(status, status.value(), null, exception.getBody().getDetail(), request);
+            if (precomputed != null) {
+                return precomputed;
+            }
+
             ErrorResponse error = new ErrorResponse();
             error.setStatus(HttpStatus.valueOf(exception.getStatusCode().value()).name());
             error.setCode(exception.getStatusCode().value());
@@ -62,20 +144,23 @@ public class GlobalExceptionHandler {
             return new ResponseEntity<>(error, HttpStatus.valueOf(exception.getStatusCode().value()));
         }
 
+        recordError(ex, HttpStatus.INTERNAL_SERVER_ERROR.value(), request);
         ErrorResponse fallback = new ErrorResponse();
         fallback.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.name());
         fallback.setCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        fallback.setMessage("Error de servidor inesperado");
+        fallback.setMessage(errorCatalog.getMessage(HandlerErrorCode.UNEXPECTED_ERROR, locale(request)));
         fallback.setPath(request.getDescription(false));
         return new ResponseEntity<>(fallback, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorResponse> handleAllSecurityExceptions(AuthenticationException ex, WebRequest request) {
+        recordError(ex, HttpStatus.UNAUTHORIZED.value(), request);
+
         ErrorResponse error = new ErrorResponse();
         error.setStatus(HttpStatus.UNAUTHORIZED.name());
         error.setCode(HttpStatus.UNAUTHORIZED.value());
-        error.setMessage("Acceso no autorizado: " + ex.getMessage());
+        error.setMessage(errorCatalog.getMessage(HandlerErrorCode.UNAUTHORIZED, locale(request), ex.getMessage()));
         error.setPath(request.getDescription(false));
 
         return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
@@ -84,12 +169,57 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     @Order
     public ResponseEntity<ErrorResponse> handleAllUncaughtException(Exception ex, WebRequest request) {
+        recordError(ex, HttpStatus.INTERNAL_SERVER_ERROR.value(), request);
+        if (exceptionAggregator != null) {
+            exceptionAggregator.record(ex, request.getDescription(false));
+        }
+
         ErrorResponse error = new ErrorResponse();
         error.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.name());
         error.setCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        error.setMessage("Se ha producido un error en el servidor: " + ex.getMessage());
+        error.setMessage(errorCatalog.getMessage(HandlerErrorCode.INTERNAL_ERROR, locale(request), ex.getMessage()));
         error.setPath(request.getDescription(false));
 
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-}
\ No newline at end of file
+
+    /**
+     * Locale del header Accept-Language; sin el header se usa el locale por defecto del catálogo
+     * en lugar del locale del servidor que devuelve el contenedor
+     */
+    private static Locale locale(WebRequest request) {
+        return request.getHeader(HttpHeaders.ACCEPT_LANGUAGE) != null ? request.getLocale() : null;
+    }
+
+    private void recordError(Exception ex, int status, WebRequest request) {
+        if (errorMetrics != null) {
+            errorMetrics.record(ex, status, request);
+        }
+    }
+
+    /**
+     * Cuerpo pre-serializado cuando el modo está habilitado y el cliente acepta JSON o problem+json.
+     * Se devuelve como bytes con su tipo de contenido, por lo que Spring sigue aplicando sus advices
+     * y lo escribe con el converter de bytes.
+     * @return null si la respuesta debe construirse como {@link ErrorResponse}
+     */
+    private ResponseEntity<byte[]> precomputedResponse(HttpStatus status, int code, String errorCode, String message,
+                                                       WebRequest request) {
+        if (precomputedResponses == null || !(request instanceof ServletWebRequest servletWebRequest)) {
+            return null;
+        }
+        MediaType contentType;
+        try {
+            contentType = precomputedResponses.selectContentType(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            // Spring resuelve el Accept inválido en el camino normal
+            return null;
+        }
+        if (contentType == null) {
+            return null;
+        }
+        byte[] body = precomputedResponses.body(contentType, status, code, errorCode, message,
+                servletWebRequest.getRequest().getRequestURI());
+        return ResponseEntity.status(status).contentType(contentType).body(body);
+    }
+}
@@ -0,0 +1,129 @@
+package com.driagon.services.error.handler;
+
+import com.driagon.services.error.json.TimestampCache;
+import com.driagon.services.error.json.Utf8JsonWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Cuerpos de error pre-serializados para los casos estáticos (mismo status, código, código de catálogo y mensaje).
+ * Cada combinación se serializa una sola vez a un fragmento de bytes; al armar el cuerpo solo se
+ * insertan el timestamp y el path.
+ * <p>
+ * Los fragmentos se guardan en una caché acotada de Caffeine: su política W-TinyLFU solo admite una
+ * combinación nueva si es más frecuente que la que desplazaría, por lo que los mensajes dinámicos
+ * (con ids o argumentos) no expulsan a los errores estáticos frecuentes.
+ * <p>
+ * El JSON generado es idéntico al de {@link com.driagon.services.error.json.ErrorResponseJsonWriter}
+ * para una respuesta sin detalles, en formato legado o problem+json.
+ */
+public class PrecomputedErrorResponses {
+
+    private static final byte[] PREFIX = ascii("{\"timestamp\":\"");
+    private static final byte[] SUFFIX = ascii("\",\"details\":[]}");
+    private static final byte[] PROBLEM_TIMESTAMP = ascii("\",\"timestamp\":\"");
+    private static final byte[] PROBLEM_SUFFIX = ascii("\"}");
+    private static final String PATH_PREFIX = "uri=";
+
+    private final Cache<Key, byte[]> fragments;
+    private final boolean problemJson;
+    private final TimestampCache timestamps = new TimestampCache();
+
+    /**
+     * @param maxEntries Máximo de combinaciones guardadas
+     * @param problemJson Si se ofrece {@code application/problem+json} como tipo preferido
+     */
+    public PrecomputedErrorResponses(int maxEntries, boolean problemJson) {
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+        this.problemJson = problemJson;
+    }
+
+    public boolean isProblemJson() {
+        return problemJson;
+    }
+
+    /**
+     * Tipo de contenido que corresponde a los tipos aceptados por el cliente
+     * @param accepted Tipos del header Accept; vacío si el cliente no lo envía
+     * @return {@code application/json}, {@code application/problem+json} o null si el cliente no acepta ninguno
+     */
+    public MediaType selectContentType(List<MediaType> accepted) {
+        return ErrorMediaTypes.select(accepted, problemJson);
+    }
+
+    /**
+     * Arma el cuerpo de la respuesta de error
+     * @param contentType Tipo devuelto por {@link #selectContentType(List)}
+     * @param errorCode Clave del catálogo de errores o null
+     * @param path URI de la petición, sin el prefijo {@code uri=}
+     */
+    public byte[] body(MediaType contentType, HttpStatus status, int code, String errorCode, String message, String path) {
+        boolean problem = MediaType.APPLICATION_PROBLEM_JSON.equalsTypeAndSubtype(contentType);
+        byte[] fragment = fragments.get(new Key(problem, status, code, errorCode, message), PrecomputedErrorResponses::serialize);
+        byte[] now = timestamps.now();
+
+        Utf8JsonWriter writer;
+        if (problem) {
+            writer = new Utf8JsonWriter(fragment.length + path.length() + now.length + 24);
+            writer.raw(fragment).stringContent(path).raw(PROBLEM_TIMESTAMP).raw(now).raw(PROBLEM_SUFFIX);
+        } else {
+            writer = new Utf8JsonWriter(PREFIX.length + now.length + fragment.length + PATH_PREFIX.length() + path.length() + 24);
+            writer.raw(PREFIX).raw(now).raw(fragment).stringContent(PATH_PREFIX).stringContent(path).raw(SUFFIX);
+        }
+        return writer.toByteArray();
+    }
+
+    public long size() {
+        return fragments.estimatedSize();
+    }
+
+    /**
+     * Formato legado: fragmento desde el cierre del timestamp hasta la apertura del path,
+     * {@code ","status":"...","code":...,"errorCode":"...","message":"...","path":"}.
+     * Formato problem+json: fragmento desde el inicio hasta la apertura de {@code instance}
+     */
+    private static byte[] serialize(Key key) {
+        Utf8JsonWriter writer = new Utf8JsonWriter(96 + (key.message() == null ? 0 : key.message().length()));
+        if (key.problem()) {
+            writer.writeByte('{')
+                    .string("type").writeByte(':').string("about:blank").writeByte(',')
+                    .string("title").writeByte(':').string(key.status().getReasonPhrase()).writeByte(',')
+                    .string("status").writeByte(':').number(key.code());
+            if (key.errorCode() != null) {
+                writer.writeByte(',').string("errorCode").writeByte(':').string(key.errorCode());
+            }
+            if (key.message() != null) {
+                writer.writeByte(',').string("detail").writeByte(':').string(key.message());
+            }
+            writer.writeByte(',').string("instance").writeByte(':').writeByte('"');
+            return writer.toByteArray();
+        }
+
+        writer.writeByte('"').writeByte(',')
+                .string("status").writeByte(':').string(key.status().name()).writeByte(',')
+                .string("code").writeByte(':').number(key.code()).writeByte(',');
+        // @JsonInclude(NON_NULL): los campos nulos no se incluyen
+        if (key.errorCode() != null) {
+            writer.string("errorCode").writeByte(':').string(key.errorCode()).writeByte(',');
+        }
+        if (key.message() != null) {
+            writer.string("message").writeByte(':').string(key.message()).writeByte(',');
+        }
+        writer.string("path").writeByte(':').writeByte('"');
+        return writer.toByteArray();
+    }
+
+    private static byte[] ascii(String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record Key(boolean problem, HttpStatus status, int code, String errorCode, String message) {
+    }
+}
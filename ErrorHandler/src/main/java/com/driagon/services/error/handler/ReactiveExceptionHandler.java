@@ -0,0 +1,218 @@
+package com.driagon.services.error.handler;
+
+import com.driagon.services.error.catalog.ErrorCatalog;
+import com.driagon.services.error.catalog.HandlerErrorCode;
+import com.driagon.services.error.exceptions.BaseException;
+import com.driagon.services.error.json.ErrorResponseJsonWriter;
+import com.driagon.services.error.json.Utf8JsonWriter;
+import com.driagon.services.error.metrics.ErrorMetrics;
+import com.driagon.services.error.models.ErrorResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * Contraparte reactiva (WebFlux) de {@link GlobalExceptionHandler}.
+ * Resuelve las mismas excepciones con el mismo contrato de {@link ErrorResponse} y escribe el cuerpo
+ * en un único {@link DataBuffer}, sin bloquear el event loop.
+ * El formato se negocia con el header Accept igual que en servlet: {@code application/json} o, si está
+ * habilitado, {@code application/problem+json}. Con {@link PrecomputedErrorResponses} los errores sin
+ * detalles se arman desde los mismos fragmentos pre-serializados.
+ * <p>
+ * Se ordena antes del {@code DefaultErrorWebExceptionHandler} de Spring Boot.
+ */
+public class ReactiveExceptionHandler implements ErrorWebExceptionHandler, Ordered {
+
+    /**
+     * Atributo de WebFlux con el patrón de ruta del handler que atendió la petición
+     */
+    private static final String BEST_MATCHING_PATTERN_ATTRIBUTE = "org.springframework.web.reactive.HandlerMapping.bestMatchingPattern";
+    private static final String UNKNOWN_PATH = "UNKNOWN";
+    private static final int INITIAL_CAPACITY = 256;
+    private static final String PATH_PREFIX = "uri=";
+
+    private final ErrorResponseJsonWriter jsonWriter = new ErrorResponseJsonWriter();
+    private final PrecomputedErrorResponses precomputedResponses;
+    private final ExceptionAggregator exceptionAggregator;
+    private final ErrorMetrics errorMetrics;
+    private final ValidationErrorCollector validationErrors;
+    private final ErrorCatalog errorCatalog;
+    private final boolean problemJson;
+
+    /**
+     * @param precomputedResponses Fragmentos pre-serializados de los errores sin detalles o null
+     * @param exceptionAggregator Agregador del log de excepciones no controladas o null
+     * @param errorMetrics Contadores de errores o null
+     * @param validationErrors Conversión de los errores de validación, por ejemplo {@link ValidationErrorCollector#unlimited()}
+     * @param errorCatalog Catálogo de mensajes, por ejemplo {@link ErrorCatalog#empty()}
+     * @param problemJson Si se ofrece {@code application/problem+json} a los clientes que lo aceptan
+     */
+    public ReactiveExceptionHandler(PrecomputedErrorResponses precomputedResponses, ExceptionAggregator exceptionAggregator,
+                                    ErrorMetrics errorMetrics, ValidationErrorCollector validationErrors,
+                                    ErrorCatalog errorCatalog, boolean problemJson) {
+        this.precomputedResponses = precomputedResponses;
+        this.exceptionAggregator = exceptionAggregator;
+        this.errorMetrics = errorMetrics;
+        this.validationErrors = validationErrors;
+        this.errorCatalog = errorCatalog;
+        this.problemJson = problemJson;
+    }
+
+    @Override
+    public int getOrder() {
+        return -2;
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+
+        String requestPath = exchange.getRequest().getPath().value();
+        Locale locale = exchange.getLocaleContext().getLocale();
+        MediaType contentType = contentType(exchange);
+
+        HttpStatus staticStatus = staticStatus(ex);
+        byte[] body = precomputedBody(ex, staticStatus, contentType, requestPath, locale);
+        int status;
+        if (body != null) {
+            status = staticStatus.value();
+        } else {
+            ErrorResponse error = toErrorResponse(ex, PATH_PREFIX + requestPath, locale);
+            status = error.getCode();
+            Utf8JsonWriter writer = new Utf8JsonWriter(INITIAL_CAPACITY);
+            if (MediaType.APPLICATION_PROBLEM_JSON.equalsTypeAndSubtype(contentType)) {
+                jsonWriter.writeProblem(error, writer);
+            } else {
+                jsonWriter.writeLegacy(error, writer);
+            }
+            body = writer.toByteArray();
+        }
+
+        recordError(ex, status, exchange);
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR.value() && exceptionAggregator != null) {
+            exceptionAggregator.record(ex, PATH_PREFIX + requestPath);
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(status));
+        response.getHeaders().setContentType(contentType);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    /**
+     * Traduce la excepción con las mismas reglas que {@link GlobalExceptionHandler}
+     * @param locale Locale de la petición; si es null se usa el del catálogo
+     */
+    protected ErrorResponse toErrorResponse(Throwable ex, String path, Locale locale) {
+        if (ex instanceof BaseException baseException) {
+            if (baseException.getErrorCode() == null) {
+                return new ErrorResponse(baseException.getStatus().name(), baseException.getCode(), baseException.getMessage(), path);
+            }
+            ErrorResponse error = new ErrorResponse(baseException.getStatus().name(), baseException.getCode(),
+                    errorCatalog.getMessage(baseException.getErrorCode(), locale, baseException.getArgs()), path);
+            error.setErrorCode(baseException.getErrorCode().key());
+            return error;
+        }
+
+        if (ex instanceof WebExchangeBindException bindException) {
+            ErrorResponse error = validationError(path, locale);
+            validationErrors.collectFieldErrors(bindException.getFieldErrors(), error);
+            return error;
+        }
+
+        if (ex instanceof ConstraintViolationException cve) {
+            ErrorResponse error = validationError(path, locale);
+            validationErrors.collectViolations(cve.getConstraintViolations(), error);
+            return error;
+        }
+
+        if (ex instanceof org.springframework.web.ErrorResponse exception) {
+            HttpStatus status = HttpStatus.valueOf(exception.getStatusCode().value());
+            return new ErrorResponse(status.name(), status.value(), exception.getBody().getDetail(), path);
+        }
+
+        if (ex instanceof AuthenticationException) {
+            return new ErrorResponse(HttpStatus.UNAUTHORIZED.name(), HttpStatus.UNAUTHORIZED.value(),
+                    errorCatalog.getMessage(HandlerErrorCode.UNAUTHORIZED, locale, ex.getMessage()), path);
+        }
+
+        return new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.name(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                errorCatalog.getMessage(HandlerErrorCode.INTERNAL_ERROR, locale, ex.getMessage()), path);
+    }
+
+    /**
+     * Tipo negociado con el header Accept. A diferencia de servlet no hay un camino alternativo que
+     * resuelva un Accept inválido o incompatible, así que el error se escribe como {@code application/json}
+     */
+    private MediaType contentType(ServerWebExchange exchange) {
+        MediaType selected;
+        try {
+            selected = ErrorMediaTypes.select(exchange.getRequest().getHeaders().getAccept(), problemJson);
+        } catch (InvalidMediaTypeException e) {
+            selected = null;
+        }
+        return selected != null ? selected : MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Status de los errores sin detalles, los mismos que {@link GlobalExceptionHandler} sirve pre-serializados
+     * @return null si el error se arma como {@link ErrorResponse}
+     */
+    private static HttpStatus staticStatus(Throwable ex) {
+        if (ex instanceof BaseException baseException) {
+            return baseException.getStatus();
+        }
+        if (ex instanceof org.springframework.web.ErrorResponse exception && !(ex instanceof WebExchangeBindException)) {
+            return HttpStatus.valueOf(exception.getStatusCode().value());
+        }
+        return null;
+    }
+
+    /**
+     * @return null si el modo pre-serializado está deshabilitado o el error no es estático
+     */
+    private byte[] precomputedBody(Throwable ex, HttpStatus status, MediaType contentType, String requestPath, Locale locale) {
+        if (precomputedResponses == null || status == null) {
+            return null;
+        }
+        if (ex instanceof BaseException baseException) {
+            if (baseException.getErrorCode() == null) {
+                return precomputedResponses.body(contentType, status, baseException.getCode(), null,
+                        baseException.getMessage(), requestPath);
+            }
+            return precomputedResponses.body(contentType, status, baseException.getCode(), baseException.getErrorCode().key(),
+                    errorCatalog.getMessage(baseException.getErrorCode(), locale, baseException.getArgs()), requestPath);
+        }
+        return precomputedResponses.body(contentType, status, status.value(), null,
+                ((org.springframework.web.ErrorResponse) ex).getBody().getDetail(), requestPath);
+    }
+
+    private ErrorResponse validationError(String path, Locale locale) {
+        return new ErrorResponse(HttpStatus.BAD_REQUEST.name(), HttpStatus.BAD_REQUEST.value(),
+                errorCatalog.getMessage(HandlerErrorCode.VALIDATION, locale), path);
+    }
+
+    private void recordError(Throwable ex, int status, ServerWebExchange exchange) {
+        if (errorMetrics != null) {
+            Object pattern = exchange.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // El patrón es un PathPattern cuyo toString() devuelve la cadena original
+            errorMetrics.record(ex.getClass(), status, pattern != null ? pattern.toString() : UNKNOWN_PATH);
+        }
+    }
+}
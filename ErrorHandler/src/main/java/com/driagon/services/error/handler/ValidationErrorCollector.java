@@ -0,0 +1,159 @@
+package com.driagon.services.error.handler;
+
+import com.driagon.services.error.models.ErrorDetail;
+import com.driagon.services.error.models.ErrorResponse;
+import jakarta.validation.ConstraintViolation;
+import org.springframework.validation.FieldError;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Convierte los errores de validación en {@link ErrorDetail} con un tamaño de respuesta acotado.
+ * <ul>
+ *     <li>Se generan como máximo {@code maxDetails} detalles; el total real queda en {@link ErrorResponse#getTotalDetails()}</li>
+ *     <li>Con agrupación, los errores con el mismo mensaje sobre rutas indexadas ({@code items[3].price})
+ *     se reúnen en un único detalle {@code items[*].price} con su cantidad. Alcanzado el máximo, solo se
+ *     renderiza la ruta de los errores cuyo mensaje ya tiene un grupo; el resto solo se cuenta</li>
+ *     <li>Sin agrupación, las rutas de los errores que exceden el máximo no se renderizan</li>
+ * </ul>
+ */
+public class ValidationErrorCollector {
+
+    public static final int UNLIMITED = -1;
+
+    private static final String INVALID_FIELD = "INVALID_FIELD";
+
+    private final int maxDetails;
+    private final boolean groupIndexedPaths;
+
+    /**
+     * @param maxDetails Máximo de detalles en la respuesta o {@link #UNLIMITED}
+     * @param groupIndexedPaths Si es true agrupa los mensajes repetidos sobre rutas indexadas
+     */
+    public ValidationErrorCollector(int maxDetails, boolean groupIndexedPaths) {
+        this.maxDetails = maxDetails;
+        this.groupIndexedPaths = groupIndexedPaths;
+    }
+
+    /**
+     * Comportamiento original: un detalle por error, sin límite ni agrupación
+     */
+    public static ValidationErrorCollector unlimited() {
+        return new ValidationErrorCollector(UNLIMITED, false);
+    }
+
+    public void collectFieldErrors(List<FieldError> fieldErrors, ErrorResponse error) {
+        Accumulator accumulator = new Accumulator(error.getDetails());
+        for (FieldError fieldError : fieldErrors) {
+            if (!accumulator.add(fieldError.getField(), fieldError.getDefaultMessage())) {
+                break;
+            }
+        }
+        accumulator.finish(error, fieldErrors.size());
+    }
+
+    public void collectViolations(Collection<? extends ConstraintViolation<?>> violations, ErrorResponse error) {
+        Accumulator accumulator = new Accumulator(error.getDetails());
+        for (ConstraintViolation<?> violation : violations) {
+            // La ruta se pasa sin renderizar: solo se convierte a texto si llega a la respuesta
+            if (!accumulator.add(violation.getPropertyPath(), violation.getMessage())) {
+                break;
+            }
+        }
+        accumulator.finish(error, violations.size());
+    }
+
+    /**
+     * Reemplaza los índices numéricos de la ruta por {@code [*]}; devuelve la misma cadena si no tiene índices
+     */
+    static String normalizeIndexes(String path) {
+        if (path.indexOf('[') < 0) {
+            return path;
+        }
+        StringBuilder normalized = new StringBuilder(path.length());
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '[') {
+                int end = i + 1;
+                while (end < path.length() && Character.isDigit(path.charAt(end))) {
+                    end++;
+                }
+                if (end > i + 1 && end < path.length() && path.charAt(end) == ']') {
+                    normalized.append("[*]");
+                    i = end + 1;
+                    continue;
+                }
+            }
+            normalized.append(c);
+            i++;
+        }
+        return normalized.toString();
+    }
+
+    private final class Accumulator {
+
+        private final List<ErrorDetail> details;
+        private final Map<GroupKey, ErrorDetail> groups;
+        private final Set<String> groupMessages;
+        private int represented;
+
+        private Accumulator(List<ErrorDetail> details) {
+            this.details = details;
+            this.groups = groupIndexedPaths ? new HashMap<>() : null;
+            this.groupMessages = groupIndexedPaths ? new HashSet<>() : null;
+        }
+
+        private boolean isFull() {
+            return maxDetails != UNLIMITED && details.size() >= maxDetails;
+        }
+
+        /**
+         * @return false si los errores siguientes ya no pueden aparecer en la respuesta
+         */
+        private boolean add(Object path, String message) {
+            if (groups == null) {
+                if (isFull()) {
+                    return false;
+                }
+                details.add(new ErrorDetail(String.valueOf(path), message, INVALID_FIELD));
+                represented++;
+                return true;
+            }
+
+            boolean full = isFull();
+            if (full && !groupMessages.contains(message)) {
+                // No puede unirse a ningún grupo: queda en el total sin renderizar la ruta
+                return !groupMessages.isEmpty();
+            }
+
+            GroupKey key = new GroupKey(normalizeIndexes(String.valueOf(path)), message);
+            ErrorDetail detail = groups.get(key);
+            if (detail != null) {
+                detail.setCount(detail.getCount() == null ? 2 : detail.getCount() + 1);
+                represented++;
+            } else if (!full) {
+                detail = new ErrorDetail(key.path(), message, INVALID_FIELD);
+                groups.put(key, detail);
+                groupMessages.add(message);
+                details.add(detail);
+                represented++;
+            }
+            return true;
+        }
+
+        private void finish(ErrorResponse error, int total) {
+            if (represented != total || (groups != null && groups.size() != total)) {
+                error.setTotalDetails(total);
+            }
+        }
+    }
+
+    private record GroupKey(String path, String message) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.driagon.services.error.json;
+
+import com.driagon.services.error.models.ErrorDetail;
+import com.driagon.services.error.models.ErrorResponse;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialización manual de {@link ErrorResponse} sin reflexión.
+ * Los nombres de campo se guardan como tokens de bytes y el timestamp se formatea una vez por segundo.
+ * <ul>
+ *     <li>Formato legado: mismo JSON que produce Jackson con las anotaciones de {@link ErrorResponse}</li>
+ *     <li>Formato problem+json (RFC 7807): {@code type}, {@code title}, {@code status}, {@code detail}
+ *     e {@code instance}, con {@code errorCode}, {@code timestamp} y {@code errors} como extensiones</li>
+ * </ul>
+ */
+public final class ErrorResponseJsonWriter {
+
+    private static final String PATH_PREFIX = "uri=";
+
+    private static final byte[] TIMESTAMP = ascii("{\"timestamp\":\"");
+    private static final byte[] STATUS = ascii("\",\"status\":");
+    private static final byte[] TIMESTAMP_END = ascii("\"");
+    private static final byte[] CODE = ascii(",\"code\":");
+    private static final byte[] ERROR_CODE = ascii(",\"errorCode\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] PATH = ascii(",\"path\":");
+    private static final byte[] DETAILS = ascii(",\"details\":[");
+
+    private static final byte[] FIELD = ascii("\"field\":");
+    private static final byte[] DETAIL_MESSAGE = ascii("\"message\":");
+    private static final byte[] DETAIL_CODE = ascii("\"code\":");
+    private static final byte[] DETAIL_COUNT = ascii("\"count\":");
+    private static final byte[] TOTAL_DETAILS = ascii(",\"totalDetails\":");
+
+    private static final byte[] PROBLEM_TYPE = ascii("{\"type\":\"about:blank\"");
+    private static final byte[] PROBLEM_TITLE = ascii(",\"title\":");
+    private static final byte[] PROBLEM_STATUS = ascii(",\"status\":");
+    private static final byte[] PROBLEM_DETAIL = ascii(",\"detail\":");
+    private static final byte[] PROBLEM_INSTANCE = ascii(",\"instance\":");
+    private static final byte[] PROBLEM_TIMESTAMP = ascii(",\"timestamp\":\"");
+    private static final byte[] PROBLEM_ERRORS = ascii(",\"errors\":[");
+
+    /**
+     * Tokens {@code ,"title":...,"status":N} precalculados por status conocido
+     */
+    private static final Map<HttpStatus, byte[]> PROBLEM_TITLES = new EnumMap<>(HttpStatus.class);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            Utf8JsonWriter writer = new Utf8JsonWriter(64);
+            writer.raw(PROBLEM_TITLE).string(status.getReasonPhrase()).raw(PROBLEM_STATUS).number(status.value());
+            PROBLEM_TITLES.put(status, writer.toByteArray());
+        }
+    }
+
+    private final TimestampCache timestamps = new TimestampCache();
+
+    /**
+     * Escribe la respuesta en el formato legado de {@link ErrorResponse}
+     */
+    public void writeLegacy(ErrorResponse error, Utf8JsonWriter writer) {
+        writer.raw(TIMESTAMP).raw(timestamps.format(error.getTimestamp()));
+        // @JsonInclude(NON_NULL): los campos nulos no se incluyen
+        if (error.getStatus() != null) {
+            writer.raw(STATUS).string(error.getStatus());
+        } else {
+            writer.raw(TIMESTAMP_END);
+        }
+        writer.raw(CODE).number(error.getCode());
+        if (error.getErrorCode() != null) {
+            writer.raw(ERROR_CODE).string(error.getErrorCode());
+        }
+        if (error.getMessage() != null) {
+            writer.raw(MESSAGE).string(error.getMessage());
+        }
+        if (error.getPath() != null) {
+            writer.raw(PATH).string(error.getPath());
+        }
+        if (error.getDetails() != null) {
+            writer.raw(DETAILS);
+            writeDetails(error.getDetails(), writer);
+            writer.writeByte(']');
+        }
+        if (error.getTotalDetails() != null) {
+            writer.raw(TOTAL_DETAILS).number(error.getTotalDetails());
+        }
+        writer.writeByte('}');
+    }
+
+    /**
+     * Escribe la respuesta como problem+json (RFC 7807)
+     */
+    public void writeProblem(ErrorResponse error, Utf8JsonWriter writer) {
+        writer.raw(PROBLEM_TYPE);
+        HttpStatus status = HttpStatus.resolve(error.getCode());
+        if (status != null) {
+            writer.raw(PROBLEM_TITLES.get(status));
+        } else {
+            if (error.getStatus() != null) {
+                writer.raw(PROBLEM_TITLE).string(error.getStatus());
+            }
+            writer.raw(PROBLEM_STATUS).number(error.getCode());
+        }
+        if (error.getErrorCode() != null) {
+            writer.raw(ERROR_CODE).string(error.getErrorCode());
+        }
+        if (error.getMessage() != null) {
+            writer.raw(PROBLEM_DETAIL).string(error.getMessage());
+        }
+        String path = error.getPath();
+        if (path != null) {
+            writer.raw(PROBLEM_INSTANCE).writeByte('"')
+                    .stringContent(path.startsWith(PATH_PREFIX) ? path.substring(PATH_PREFIX.length()) : path)
+                    .writeByte('"');
+        }
+        writer.raw(PROBLEM_TIMESTAMP).raw(timestamps.format(error.getTimestamp())).writeByte('"');
+        if (error.getDetails() != null && !error.getDetails().isEmpty()) {
+            writer.raw(PROBLEM_ERRORS);
+            writeDetails(error.getDetails(), writer);
+            writer.writeByte(']');
+        }
+        if (error.getTotalDetails() != null) {
+            writer.raw(TOTAL_DETAILS).number(error.getTotalDetails());
+        }
+        writer.writeByte('}');
+    }
+
+    private static void writeDetails(List<ErrorDetail> details, Utf8JsonWriter writer) {
+        for (int i = 0; i < details.size(); i++) {
+            if (i > 0) {
+                writer.writeByte(',');
+            }
+            ErrorDetail detail = details.get(i);
+            writer.writeByte('{');
+            boolean first = true;
+            first = writeField(FIELD, detail.getField(), first, writer);
+            first = writeField(DETAIL_MESSAGE, detail.getMessage(), first, writer);
+            first = writeField(DETAIL_CODE, detail.getCode(), first, writer);
+            if (detail.getCount() != null) {
+                if (!first) {
+                    writer.writeByte(',');
+                }
+                writer.raw(DETAIL_COUNT).number(detail.getCount());
+            }
+            writer.writeByte('}');
+        }
+    }
+
+    private static boolean writeField(byte[] name, String value, boolean first, Utf8JsonWriter writer) {
+        if (value == null) {
+            return first;
+        }
+        if (!first) {
+            writer.writeByte(',');
+        }
+        writer.raw(name).string(value);
+        return false;
+    }
+
+    private static byte[] ascii(String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+}
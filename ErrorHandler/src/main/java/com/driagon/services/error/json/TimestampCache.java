@@ -0,0 +1,66 @@
+package com.driagon.services.error.json;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Timestamps de error formateados con el patrón {@code yyyy-MM-dd HH:mm:ss} de
+ * {@link com.driagon.services.error.models.ErrorResponse}. Guarda el último segundo formateado,
+ * por lo que durante una ráfaga de errores el formateo ocurre como máximo una vez por segundo.
+ */
+public final class TimestampCache {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * Último instante actual formateado, por segundo epoch
+     */
+    private volatile Entry lastNow = new Entry(Long.MIN_VALUE, new byte[0]);
+
+    /**
+     * Último timestamp recibido formateado, por segundo de la fecha local
+     */
+    private volatile Entry lastFormatted = new Entry(Long.MIN_VALUE, new byte[0]);
+
+    /**
+     * Bytes ASCII del instante actual en la zona del sistema
+     */
+    public byte[] now() {
+        long second = Math.floorDiv(System.currentTimeMillis(), 1000L);
+        Entry current = lastNow;
+        if (current.second() == second) {
+            return current.bytes();
+        }
+        Entry entry = entry(second, LocalDateTime.ofInstant(Instant.ofEpochSecond(second), zone));
+        lastNow = entry;
+        return entry.bytes();
+    }
+
+    /**
+     * Bytes ASCII del timestamp indicado
+     */
+    public byte[] format(LocalDateTime timestamp) {
+        // Clave sin asignaciones: los segundos de la fecha local tal cual, sin convertir de zona
+        long second = timestamp.toEpochSecond(ZoneOffset.UTC);
+        Entry current = lastFormatted;
+        if (current.second() == second) {
+            return current.bytes();
+        }
+        Entry entry = entry(second, timestamp);
+        lastFormatted = entry;
+        return entry.bytes();
+    }
+
+    private static Entry entry(long second, LocalDateTime timestamp) {
+        return new Entry(second, FORMAT.format(timestamp).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private record Entry(long second, byte[] bytes) {
+    }
+}
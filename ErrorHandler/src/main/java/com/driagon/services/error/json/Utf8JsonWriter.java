@@ -0,0 +1,162 @@
+package com.driagon.services.error.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escritor JSON mínimo que codifica directamente a UTF-8 en un buffer de bytes.
+ * Solo cubre lo necesario para las respuestas de error (cadenas, números y fragmentos ya
+ * serializados) y no es thread-safe: se usa una instancia por escritura.
+ */
+public final class Utf8JsonWriter {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer;
+    private int count;
+
+    public Utf8JsonWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Agrega bytes ya serializados tal cual
+     */
+    public Utf8JsonWriter raw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+        return this;
+    }
+
+    /**
+     * Agrega una cadena entre comillas y escapada, o {@code null}
+     */
+    public Utf8JsonWriter string(String value) {
+        if (value == null) {
+            return raw(NULL);
+        }
+        writeByte('"');
+        stringContent(value);
+        writeByte('"');
+        return this;
+    }
+
+    /**
+     * Agrega el contenido escapado de una cadena, sin comillas
+     */
+    public Utf8JsonWriter stringContent(String value) {
+        // Peor caso: 6 bytes por carácter (\\u00XX) o 3 bytes UTF-8
+        ensureCapacity(value.length() * 6);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                buffer[count++] = (byte) c;
+            } else if (c < 0x80) {
+                writeEscaped(c);
+            } else if (c < 0x800) {
+                buffer[count++] = (byte) (0xC0 | (c >> 6));
+                buffer[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate sin pareja: se reemplaza igual que lo hace String.getBytes
+                buffer[count++] = '?';
+            } else {
+                buffer[count++] = (byte) (0xE0 | (c >> 12));
+                buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    public Utf8JsonWriter number(long value) {
+        if (value == Long.MIN_VALUE) {
+            return raw(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int start = count;
+        do {
+            buffer[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Los dígitos quedaron en orden inverso
+        for (int i = start, j = count - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+        return this;
+    }
+
+    public Utf8JsonWriter writeByte(char c) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Descarta el contenido para reutilizar el buffer
+     */
+    public Utf8JsonWriter reset() {
+        count = 0;
+        return this;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, count);
+    }
+
+    /**
+     * Mismos escapes que Jackson: forma corta cuando existe y si no {@code \\u00XX} con hexadecimal en mayúsculas
+     */
+    private void writeEscaped(char c) {
+        buffer[count++] = '\\';
+        switch (c) {
+            case '"' -> buffer[count++] = '"';
+            case '\\' -> buffer[count++] = '\\';
+            case '\n' -> buffer[count++] = 'n';
+            case '\r' -> buffer[count++] = 'r';
+            case '\t' -> buffer[count++] = 't';
+            case '\b' -> buffer[count++] = 'b';
+            case '\f' -> buffer[count++] = 'f';
+            default -> {
+                buffer[count++] = 'u';
+                buffer[count++] = '0';
+                buffer[count++] = '0';
+                buffer[count++] = HEX[(c >> 4) & 0xF];
+                buffer[count++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (count + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + additional));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.driagon.services.error.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de errores para una combinación de tipo de excepción, status HTTP y patrón de ruta
+ */
+public final class ErrorCounter {
+
+    private final String exception;
+    private final int status;
+    private final String path;
+    private final LongAdder count = new LongAdder();
+
+    ErrorCounter(String exception, int status, String path) {
+        this.exception = exception;
+        this.status = status;
+        this.path = path;
+    }
+
+    void increment() {
+        count.increment();
+    }
+
+    public String getException() {
+        return exception;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+}
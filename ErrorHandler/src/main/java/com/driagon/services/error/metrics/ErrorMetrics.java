@@ -0,0 +1,139 @@
+package com.driagon.services.error.metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Contadores de errores por tipo de excepción, status HTTP y patrón de ruta del handler.
+ * <p>
+ * La búsqueda no construye una clave compuesta: el tipo de excepción se busca en un mapa concurrente acotado,
+ * el status indexa una tabla fija y el patrón de ruta (una cadena que Spring reutiliza por handler)
+ * se busca en un mapa concurrente pre-dimensionado. Cada contador es un {@link java.util.concurrent.atomic.LongAdder}.
+ * Las tablas no guardan referencias a esta instancia, y el mapa por tipo pertenece al bean, por lo que
+ * los tipos de excepción no quedan retenidos más allá del contexto de la aplicación.
+ */
+public class ErrorMetrics {
+
+    /**
+     * Atributo de Spring MVC con el patrón de ruta del handler que atendió la petición
+     */
+    static final String BEST_MATCHING_PATTERN_ATTRIBUTE = "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
+
+    static final String UNKNOWN_PATH = "UNKNOWN";
+    static final String OTHER_PATH = "OTHER";
+    static final String OTHER_EXCEPTION = "OTHER";
+
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+    private static final int EXPECTED_PATHS = 16;
+
+    private final ConcurrentHashMap<Class<?>, StatusTable> tables = new ConcurrentHashMap<>();
+    private final StatusTable otherTable = new StatusTable(OTHER_EXCEPTION);
+    private final List<ErrorCounter> counters = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ErrorCounter>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger series = new AtomicInteger();
+    private final int maxSeries;
+
+    /**
+     * @param maxSeries Máximo de combinaciones distintas; al alcanzarlo las rutas y los tipos de excepción nuevos
+     *                  se cuentan como {@code OTHER}
+     */
+    public ErrorMetrics(int maxSeries) {
+        this.maxSeries = maxSeries;
+    }
+
+    public void record(Throwable ex, int status, WebRequest request) {
+        Object pattern = request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        record(ex.getClass(), status, pattern instanceof String path ? path : UNKNOWN_PATH);
+    }
+
+    public void record(Class<?> exceptionType, int status, String path) {
+        if (status < MIN_STATUS || status > MAX_STATUS) {
+            return;
+        }
+        counter(table(exceptionType), status, path).increment();
+    }
+
+    /**
+     * Contadores creados hasta el momento
+     */
+    public List<ErrorCounter> getCounters() {
+        return List.copyOf(counters);
+    }
+
+    /**
+     * Agrega un callback para los contadores existentes y para cada contador nuevo.
+     * Cada {@code MeterRegistry} registra el suyo
+     */
+    public synchronized void onCounter(Consumer<ErrorCounter> listener) {
+        listeners.add(listener);
+        counters.forEach(listener);
+    }
+
+    private StatusTable table(Class<?> exceptionType) {
+        StatusTable table = tables.get(exceptionType);
+        if (table != null) {
+            return table;
+        }
+        if (tables.size() >= maxSeries) {
+            // Cada tipo crea al menos una serie: con el límite alcanzado los tipos nuevos se agrupan en OTHER
+            return otherTable;
+        }
+        return tables.computeIfAbsent(exceptionType, type -> new StatusTable(type.getName()));
+    }
+
+    private ErrorCounter counter(StatusTable table, int status, String path) {
+        ConcurrentHashMap<String, ErrorCounter> paths = table.paths(status);
+        ErrorCounter counter = paths.get(path);
+        if (counter != null) {
+            return counter;
+        }
+        if (series.get() >= maxSeries && !OTHER_PATH.equals(path)) {
+            // Cardinalidad acotada: las combinaciones nuevas se agrupan en OTHER
+            return counter(table, status, OTHER_PATH);
+        }
+        return paths.computeIfAbsent(path, key -> {
+            series.incrementAndGet();
+            return create(table.exception, status, key);
+        });
+    }
+
+    private synchronized ErrorCounter create(String exception, int status, String path) {
+        ErrorCounter counter = new ErrorCounter(exception, status, path);
+        counters.add(counter);
+        for (Consumer<ErrorCounter> listener : listeners) {
+            listener.accept(counter);
+        }
+        return counter;
+    }
+
+    /**
+     * Contadores de un tipo de excepción: status → patrón de ruta → contador
+     */
+    private static final class StatusTable {
+
+        private final String exception;
+        private final AtomicReferenceArray<ConcurrentHashMap<String, ErrorCounter>> byStatus =
+                new AtomicReferenceArray<>(MAX_STATUS - MIN_STATUS + 1);
+
+        private StatusTable(String exception) {
+            this.exception = exception;
+        }
+
+        private ConcurrentHashMap<String, ErrorCounter> paths(int status) {
+            ConcurrentHashMap<String, ErrorCounter> paths = byStatus.get(status - MIN_STATUS);
+            if (paths == null) {
+                byStatus.compareAndSet(status - MIN_STATUS, null, new ConcurrentHashMap<>(EXPECTED_PATHS));
+                paths = byStatus.get(status - MIN_STATUS);
+            }
+            return paths;
+        }
+    }
+}
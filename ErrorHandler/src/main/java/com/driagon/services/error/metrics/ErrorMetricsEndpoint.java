@@ -0,0 +1,27 @@
+package com.driagon.services.error.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Endpoint de actuator con los contadores de errores, para aplicaciones sin Micrometer
+ */
+@Endpoint(id = "errormetrics")
+public class ErrorMetricsEndpoint {
+
+    private final ErrorMetrics errorMetrics;
+
+    public ErrorMetricsEndpoint(ErrorMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
+
+    @ReadOperation
+    public List<ErrorCounter> errors() {
+        return errorMetrics.getCounters().stream()
+                .sorted(Comparator.comparingLong(ErrorCounter::getCount).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.driagon.services.error.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Expone los contadores de {@link ErrorMetrics} en Micrometer, incluidos los que se crean después del registro
+ */
+public class ErrorMetricsMeterBinder implements MeterBinder {
+
+    private static final String METRIC = "error.handler.errors";
+
+    private final ErrorMetrics errorMetrics;
+
+    public ErrorMetricsMeterBinder(ErrorMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        errorMetrics.onCounter(counter -> FunctionCounter.builder(METRIC, counter, ErrorCounter::getCount)
+                .description("Errores resueltos por GlobalExceptionHandler")
+                .tag("exception", counter.getException())
+                .tag("status", String.valueOf(counter.getStatus()))
+                .tag("uri", counter.getPath())
+                .register(registry));
+    }
+}
@@ -15,6 +15,11 @@ public class ErrorDetail implements Serializable {
     private String message;
     private String code;
 
+    /**
+     * Cantidad de errores agrupados en este detalle; null si corresponde a un único error
+     */
+    private Integer count;
+
     public ErrorDetail() {
     }
 
@@ -47,4 +52,12 @@ public class ErrorDetail implements Serializable {
     public void setCode(String code) {
         this.code = code;
     }
-}
\ No newline at end of file
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
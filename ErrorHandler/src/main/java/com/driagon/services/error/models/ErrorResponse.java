@@ -19,10 +19,20 @@ public class ErrorResponse implements Serializable {
     private final LocalDateTime timestamp = LocalDateTime.now();
     private String status;
     private int code;
+
+    /**
+     * Código estable del catálogo de errores; null si el error no tiene código
+     */
+    private String errorCode;
     private String message;
     private String path;
     private List<ErrorDetail> details = new ArrayList<>();
 
+    /**
+     * Total de errores de validación cuando la lista de detalles fue acotada o agrupada; null en otro caso
+     */
+    private Integer totalDetails;
+
     public ErrorResponse() {
     }
 
@@ -53,6 +63,14 @@ public class ErrorResponse implements Serializable {
         this.code = code;
     }
 
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -76,4 +94,12 @@ public class ErrorResponse implements Serializable {
     public void setDetails(List<ErrorDetail> details) {
         this.details = details;
     }
-}
\ No newline at end of file
+
+    public Integer getTotalDetails() {
+        return totalDetails;
+    }
+
+    public void setTotalDetails(Integer totalDetails) {
+        this.totalDetails = totalDetails;
+    }
+}
@@ -0,0 +1,101 @@
+package com.driagon.services.error.benchmarks;
+
+import com.driagon.services.error.exceptions.BaseException;
+import com.driagon.services.error.exceptions.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de lanzar y capturar una {@link BaseException} con stack trace completo, sin stack trace
+ * y preasignada. El stack trace se captura a {@code depth} marcos de profundidad, como ocurre
+ * cuando la excepción se lanza desde un servicio llamado por el controlador.
+ * Se ejecuta con el método main desde el classpath de test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseExceptionBenchmark {
+
+    private static final NotFoundException USER_NOT_FOUND =
+            BaseException.stackless(() -> new NotFoundException("Usuario no encontrado"));
+
+    @Param({"10", "100"})
+    int depth;
+
+    @Benchmark
+    public int fullStackTrace() {
+        try {
+            return throwAt(depth, Creation.FULL);
+        } catch (NotFoundException e) {
+            return e.getCode();
+        }
+    }
+
+    @Benchmark
+    public int stackless() {
+        try {
+            return throwAt(depth, Creation.STACKLESS);
+        } catch (NotFoundException e) {
+            return e.getCode();
+        }
+    }
+
+    @Benchmark
+    public int preallocated() {
+        try {
+            return throwAt(depth, Creation.PREALLOCATED);
+        } catch (NotFoundException e) {
+            return e.getCode();
+        }
+    }
+
+    private static int throwAt(int remaining, Creation creation) {
+        if (remaining == 0) {
+            throw creation.create();
+        }
+        return throwAt(remaining - 1, creation) + 1;
+    }
+
+    private enum Creation {
+        FULL {
+            @Override
+            NotFoundException create() {
+                return new NotFoundException("Usuario no encontrado");
+            }
+        },
+        STACKLESS {
+            @Override
+            NotFoundException create() {
+                return BaseException.stackless(() -> new NotFoundException("Usuario no encontrado"));
+            }
+        },
+        PREALLOCATED {
+            @Override
+            NotFoundException create() {
+                return USER_NOT_FOUND;
+            }
+        };
+
+        abstract NotFoundException create();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BaseExceptionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
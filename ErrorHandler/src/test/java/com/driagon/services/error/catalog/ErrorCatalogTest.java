@@ -0,0 +1,96 @@
+package com.driagon.services.error.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga de archivos .properties y .yml y resolución por idioma_país, idioma, locale por defecto y mensajes base.
+ */
+class ErrorCatalogTest {
+
+    private static final Locale MEXICO = Locale.forLanguageTag("es-MX");
+
+    private final ErrorCatalog catalog = ErrorCatalog.load(new DefaultResourceLoader(), "classpath:catalog/messages",
+            List.of(MEXICO, Locale.forLanguageTag("es"), Locale.ENGLISH), Locale.forLanguageTag("es"));
+
+    @Test
+    void countryMessagesAreLoadedFromYaml() {
+        assertEquals("No encontramos al usuario 7", catalog.getMessage(Codes.USER_NOT_FOUND, MEXICO, "7"));
+    }
+
+    @Test
+    void missingKeysFallBackToTheLanguage() {
+        assertEquals("El pedido 9 está cerrado", catalog.getMessage(Codes.ORDER_CLOSED, MEXICO, "9"));
+        assertEquals("Usuario 7 no encontrado", catalog.getMessage(Codes.USER_NOT_FOUND, Locale.forLanguageTag("es-AR"), "7"));
+    }
+
+    @Test
+    void unknownLocalesUseTheDefaultLocale() {
+        assertEquals("Usuario 7 no encontrado", catalog.getMessage(Codes.USER_NOT_FOUND, Locale.FRENCH, "7"));
+        assertEquals("Usuario 7 no encontrado", catalog.getMessage(Codes.USER_NOT_FOUND, null, "7"));
+    }
+
+    @Test
+    void localesWithoutFilesUseTheBaseMessages() {
+        assertEquals("User 7 not found", catalog.getMessage(Codes.USER_NOT_FOUND, Locale.ENGLISH, "7"));
+        assertEquals("User 7 not found", catalog.getMessage(Codes.USER_NOT_FOUND, Locale.US, "7"));
+    }
+
+    @Test
+    void codesWithoutMessagesUseTheirDefault() {
+        assertEquals("Pago 3 rechazado", catalog.getMessage(Codes.PAYMENT_REJECTED, MEXICO, "3"));
+        assertEquals("Pago 3 rechazado", ErrorCatalog.empty().getMessage(Codes.PAYMENT_REJECTED, MEXICO, "3"));
+    }
+
+    @Test
+    void resolvedLocalesAreBounded() {
+        for (int i = 0; i < 200; i++) {
+            Locale locale = new Locale("es", "X" + i);
+            assertEquals("Usuario 7 no encontrado", catalog.getMessage(Codes.USER_NOT_FOUND, locale, "7"));
+        }
+
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(catalog, "resolved")).size() <= 64);
+    }
+
+    @Test
+    void messagesCanBeGivenDirectly() {
+        ErrorCatalog direct = new ErrorCatalog(Map.of(
+                Locale.ROOT, Map.of("user.not-found", "User {0} not found"),
+                Locale.forLanguageTag("es"), Map.of("user.not-found", "Usuario {0} no encontrado")), null);
+
+        assertEquals("User 7 not found", direct.getMessage(Codes.USER_NOT_FOUND, null, "7"));
+        assertEquals("Usuario 7 no encontrado", direct.getMessage(Codes.USER_NOT_FOUND, MEXICO, "7"));
+    }
+
+    private enum Codes implements ErrorCode {
+        USER_NOT_FOUND("user.not-found", "Usuario {0} no existe"),
+        ORDER_CLOSED("order.closed", "Pedido {0} cerrado"),
+        PAYMENT_REJECTED("payment.rejected", "Pago {0} rechazado");
+
+        private final String key;
+        private final String defaultMessage;
+
+        Codes(String key, String defaultMessage) {
+            this.key = key;
+            this.defaultMessage = defaultMessage;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public String defaultMessage() {
+            return defaultMessage;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.driagon.services.error.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Análisis de los placeholders {@code {n}} y renderizado de {@link MessageTemplate}.
+ */
+class MessageTemplateTest {
+
+    @Test
+    void rendersPositionalArgumentsInAnyOrder() {
+        MessageTemplate template = MessageTemplate.compile("{1} de {0}: {1}");
+
+        assertEquals("pedido de Ana: pedido", template.render("Ana", "pedido"));
+    }
+
+    @Test
+    void patternsWithoutPlaceholdersAreReturnedAsIs() {
+        assertEquals("Error de validación", MessageTemplate.compile("Error de validación").render("ignorado"));
+        assertEquals("", MessageTemplate.compile("").render());
+    }
+
+    @Test
+    void missingArgumentsKeepTheirPlaceholder() {
+        MessageTemplate template = MessageTemplate.compile("Usuario {0} en {1}");
+
+        assertEquals("Usuario 7 en {1}", template.render("7"));
+        assertEquals("Usuario {0} en {1}", template.render((Object[]) null));
+        assertEquals("Usuario null en {1}", template.render((Object) null));
+    }
+
+    @Test
+    void onlyNumericPlaceholdersOfUpToThreeDigitsAreParsed() {
+        assertEquals("a {1234} b", MessageTemplate.compile("a {1234} b").render("x"));
+        assertEquals("{nombre} {} {-1} {1", MessageTemplate.compile("{nombre} {} {-1} {1").render("x", "y"));
+        assertEquals("x{y}", MessageTemplate.compile("{0}{y}").render("x"));
+        assertEquals("{{0}}", MessageTemplate.compile("{{0}}").render("{0}"));
+    }
+
+    @Test
+    void threeDigitIndexesAreSupported() {
+        Object[] args = new Object[101];
+        args[100] = "cien";
+
+        assertEquals("valor cien", MessageTemplate.compile("valor {100}").render(args));
+        assertEquals("valor {100}", MessageTemplate.compile("valor {100}").render("uno"));
+    }
+
+    @Test
+    void keepsTheOriginalPattern() {
+        assertEquals("Usuario {0}", MessageTemplate.compile("Usuario {0}").getPattern());
+    }
+}
@@ -0,0 +1,87 @@
+package com.driagon.services.error.converter;
+
+import com.driagon.services.error.models.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ErrorResponseHttpMessageConverter} elige el formato por el content type negociado y declara el largo exacto del cuerpo.
+ */
+class ErrorResponseHttpMessageConverterTest {
+
+    @Test
+    void prefersProblemJsonWhenEnabled() throws Exception {
+        ErrorResponseHttpMessageConverter converter = new ErrorResponseHttpMessageConverter(true);
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        converter.write(error(), null, message);
+
+        assertEquals(List.of(MediaType.APPLICATION_PROBLEM_JSON, MediaType.APPLICATION_JSON), converter.getSupportedMediaTypes());
+        assertTrue(MediaType.APPLICATION_PROBLEM_JSON.equalsTypeAndSubtype(message.getHeaders().getContentType()));
+        String body = message.getBodyAsString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("{\"type\":\"about:blank\""), body);
+        assertTrue(body.contains("\"instance\":\"/users/7\""), body);
+    }
+
+    @Test
+    void writesLegacyJsonWhenNegotiated() throws Exception {
+        ErrorResponseHttpMessageConverter converter = new ErrorResponseHttpMessageConverter(true);
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        converter.write(error(), MediaType.APPLICATION_JSON, message);
+
+        assertTrue(MediaType.APPLICATION_JSON.equalsTypeAndSubtype(message.getHeaders().getContentType()));
+        String body = message.getBodyAsString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("{\"timestamp\":"), body);
+        assertTrue(body.contains("\"path\":\"uri=/users/7\""), body);
+    }
+
+    @Test
+    void offersOnlyJsonWhenProblemJsonIsDisabled() throws Exception {
+        ErrorResponseHttpMessageConverter converter = new ErrorResponseHttpMessageConverter(false);
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        converter.write(error(), null, message);
+
+        assertEquals(List.of(MediaType.APPLICATION_JSON), converter.getSupportedMediaTypes());
+        assertFalse(converter.canWrite(ErrorResponse.class, MediaType.APPLICATION_PROBLEM_JSON));
+        assertTrue(MediaType.APPLICATION_JSON.equalsTypeAndSubtype(message.getHeaders().getContentType()));
+    }
+
+    @Test
+    void isWriteOnly() {
+        ErrorResponseHttpMessageConverter converter = new ErrorResponseHttpMessageConverter(true);
+
+        assertTrue(converter.canWrite(ErrorResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(String.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(ErrorResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void contentLengthCountsUtf8Bytes() throws Exception {
+        for (MediaType contentType : new MediaType[]{MediaType.APPLICATION_JSON, MediaType.APPLICATION_PROBLEM_JSON}) {
+            ErrorResponseHttpMessageConverter converter = new ErrorResponseHttpMessageConverter(true);
+            MockHttpOutputMessage message = new MockHttpOutputMessage();
+            ErrorResponse error = error();
+            error.setMessage("Año inválido: 日本語 😀");
+
+            converter.write(error, contentType, message);
+
+            byte[] body = message.getBodyAsBytes();
+            assertEquals(body.length, message.getHeaders().getContentLength());
+            assertTrue(body.length > message.getBodyAsString(StandardCharsets.UTF_8).length());
+        }
+    }
+
+    private static ErrorResponse error() {
+        return new ErrorResponse("NOT_FOUND", 404, "Usuario no encontrado", "uri=/users/7");
+    }
+}
@@ -0,0 +1,93 @@
+package com.driagon.services.error.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Creación de excepciones con y sin stack trace y asignación de su causa.
+ */
+class BaseExceptionTest {
+
+    @Test
+    void capturesTheStackTraceByDefault() {
+        NotFoundException exception = new NotFoundException("Usuario no encontrado");
+
+        assertTrue(exception.getStackTrace().length > 0);
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void stacklessAppliesToAnySubclass() {
+        BaseException[] exceptions = {
+                BaseException.stackless(() -> new NotFoundException("no encontrado")),
+                BaseException.stackless(() -> new BusinessException("conflicto")),
+                BaseException.stackless(() -> new UnauthorizedException("no autorizado"))
+        };
+
+        for (BaseException exception : exceptions) {
+            assertEquals(0, exception.getStackTrace().length);
+            exception.addSuppressed(new IllegalStateException());
+            assertEquals(0, exception.getSuppressed().length);
+        }
+    }
+
+    @Test
+    void stacklessDoesNotLeakToLaterConstructions() {
+        BaseException.stackless(() -> new NotFoundException("no encontrado"));
+        assertStackless(false, new NotFoundException("no encontrado"));
+
+        try {
+            BaseException.stackless(() -> {
+                throw new IllegalStateException("falla el constructor");
+            });
+        } catch (IllegalStateException expected) {
+            // El marcador se limpia aunque el constructor falle
+        }
+        assertStackless(false, new NotFoundException("no encontrado"));
+    }
+
+    @Test
+    void factoryFollowsItsConfiguration() {
+        ExceptionFactory stackless = new ExceptionFactory(true);
+        ExceptionFactory full = new ExceptionFactory(false);
+
+        assertStackless(true, stackless.create(() -> new ProcessException("error")));
+        assertStackless(false, full.create(() -> new ProcessException("error")));
+        assertFalse(full.isStackless());
+    }
+
+    @Test
+    void causeCanBeAssignedOnceWithOrWithoutStackTrace() {
+        BaseException[] exceptions = {
+                new NotFoundException("no encontrado"),
+                BaseException.stackless(() -> new NotFoundException("no encontrado"))
+        };
+
+        for (BaseException exception : exceptions) {
+            IllegalStateException cause = new IllegalStateException("origen");
+            assertNull(exception.getCause());
+
+            assertSame(exception, exception.initCause(cause));
+            assertSame(cause, exception.getCause());
+            assertThrows(IllegalStateException.class, () -> exception.initCause(new IllegalStateException()));
+        }
+    }
+
+    @Test
+    void causeCannotBeTheExceptionItself() {
+        NotFoundException exception = new NotFoundException("no encontrado");
+
+        assertThrows(IllegalArgumentException.class, () -> exception.initCause(exception));
+    }
+
+    private static void assertStackless(boolean expected, BaseException exception) {
+        assertEquals(expected, exception.getStackTrace().length == 0);
+    }
+}
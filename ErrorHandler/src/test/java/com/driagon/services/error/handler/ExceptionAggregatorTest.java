@@ -0,0 +1,162 @@
+package com.driagon.services.error.handler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Huellas acotadas, resúmenes en un hilo compartido y lo que cada caso escribe en el log.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class ExceptionAggregatorTest {
+
+    private static final String PATH = "uri=/api/orders";
+    private static final Pattern FIRST = Pattern.compile("Excepción no controlada \\S+ \\[huella \\p{XDigit}+\\] en " + Pattern.quote(PATH));
+    private static final Pattern SUMMARY = Pattern.compile("\\[huella \\p{XDigit}+\\] x(\\d+) en los últimos \\d+ s");
+
+    @Test
+    void repeatedExceptionsShareOneFingerprint() {
+        try (ExceptionAggregator aggregator = new ExceptionAggregator(10, 5, 60_000L)) {
+            for (int i = 0; i < 100; i++) {
+                aggregator.record(failure("pedido " + i), "uri=/api/orders");
+            }
+
+            assertEquals(1, aggregator.size());
+        }
+    }
+
+    @Test
+    void logsTheFirstOccurrenceInFull(CapturedOutput output) {
+        try (ExceptionAggregator aggregator = new ExceptionAggregator(10, 5, 60_000L)) {
+            aggregator.record(new IllegalStateException("pedido 1", new IOException("Connection refused")), PATH);
+
+            String log = output.getOut();
+            assertEquals(1, count(FIRST, log), log);
+            assertTrue(log.contains("IOException: Connection refused"), log);
+            assertTrue(log.contains("at " + ExceptionAggregatorTest.class.getName()), log);
+        }
+    }
+
+    @Test
+    void countsRepeatsUntilTheNextFlush(CapturedOutput output) {
+        try (ExceptionAggregator aggregator = new ExceptionAggregator(10, 5, 60_000L)) {
+            for (int i = 0; i < 100; i++) {
+                aggregator.record(failure("pedido " + i), PATH);
+            }
+
+            assertEquals(1, count(FIRST, output.getOut()));
+            assertEquals(List.of(), summaries(output.getOut()));
+
+            aggregator.flush();
+            assertEquals(List.of(99L), summaries(output.getOut()));
+
+            int flushed = output.getOut().length();
+            aggregator.flush();
+            assertEquals(List.of(), summaries(output.getOut().substring(flushed)));
+
+            aggregator.record(failure("pedido 100"), PATH);
+            aggregator.flush();
+            assertEquals(List.of(1L), summaries(output.getOut().substring(flushed)));
+            assertEquals(1, count(FIRST, output.getOut()));
+        }
+    }
+
+    @Test
+    void evictedFingerprintsReportTheirPendingCount(CapturedOutput output) {
+        int evicted;
+        try (ExceptionAggregator aggregator = new ExceptionAggregator(2, 5, 60_000L)) {
+            for (int line = 0; line < 10; line++) {
+                for (int i = 0; i < 3; i++) {
+                    aggregator.record(failureAt(line), PATH);
+                }
+            }
+            evicted = summaries(output.getOut()).size();
+        }
+
+        // Sin flush periódico, los resúmenes previos al cierre solo pueden venir de huellas descartadas
+        assertTrue(evicted > 0, output.getOut());
+        // Cada ocurrencia aparece una vez: como primera ocurrencia o dentro de un resumen
+        String log = output.getOut();
+        long reported = count(FIRST, log) + summaries(log).stream().mapToLong(Long::longValue).sum();
+        assertEquals(30, reported, log);
+    }
+
+    @Test
+    void fingerprintIgnoresTheMessageButNotTheCause() {
+        IllegalStateException withoutCause = failure("a");
+        IllegalStateException withCause = new IllegalStateException("a", new IOException("Connection refused"));
+        withCause.setStackTrace(withoutCause.getStackTrace());
+
+        assertEquals(ExceptionAggregator.fingerprint(failure("a"), 5), ExceptionAggregator.fingerprint(failure("b"), 5));
+        assertNotEquals(ExceptionAggregator.fingerprint(withoutCause, 5), ExceptionAggregator.fingerprint(withCause, 5));
+    }
+
+    @Test
+    void fingerprintTableIsBounded() {
+        try (ExceptionAggregator aggregator = new ExceptionAggregator(8, 5, 60_000L)) {
+            for (int i = 0; i < 1_000; i++) {
+                aggregator.record(failureAt(i), "uri=/api/orders");
+            }
+
+            assertTrue(aggregator.size() <= 8, "huellas: " + aggregator.size());
+        }
+    }
+
+    @Test
+    void aggregatorsShareOneSummaryThread() {
+        List<ExceptionAggregator> aggregators = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                aggregators.add(new ExceptionAggregator(10, 5, 60_000L));
+            }
+
+            long threads = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().equals("exception-aggregator"))
+                    .count();
+            assertTrue(threads <= 1, "hilos del agregador: " + threads);
+        } finally {
+            aggregators.forEach(ExceptionAggregator::close);
+        }
+    }
+
+    private static int count(Pattern pattern, String log) {
+        int count = 0;
+        Matcher matcher = pattern.matcher(log);
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static List<Long> summaries(String log) {
+        List<Long> counts = new ArrayList<>();
+        Matcher matcher = SUMMARY.matcher(log);
+        while (matcher.find()) {
+            counts.add(Long.parseLong(matcher.group(1)));
+        }
+        return counts;
+    }
+
+    private static IllegalStateException failure(String message) {
+        IllegalStateException ex = new IllegalStateException(message);
+        ex.setStackTrace(new StackTraceElement[]{new StackTraceElement("OrderService", "create", "OrderService.java", 42)});
+        return ex;
+    }
+
+    private static IllegalStateException failureAt(int line) {
+        IllegalStateException ex = new IllegalStateException("falla");
+        ex.setStackTrace(new StackTraceElement[]{new StackTraceElement("OrderService", "create", "OrderService.java", line)});
+        return ex;
+    }
+}
@@ -0,0 +1,99 @@
+package com.driagon.services.error.handler;
+
+import com.driagon.services.error.json.ErrorResponseJsonWriter;
+import com.driagon.services.error.json.Utf8JsonWriter;
+import com.driagon.services.error.models.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Los cuerpos pre-serializados coinciden con los del writer de {@link ErrorResponse} y respetan el header Accept.
+ */
+class PrecomputedErrorResponsesTest {
+
+    private static final String TIMESTAMP = "\"timestamp\":\"[^\"]*\"";
+
+    private final ErrorResponseJsonWriter jsonWriter = new ErrorResponseJsonWriter();
+
+    @Test
+    void legacyBodyMatchesTheWriter() {
+        PrecomputedErrorResponses responses = new PrecomputedErrorResponses(16, false);
+
+        String body = body(responses, MediaType.APPLICATION_JSON, "USER_NOT_FOUND", "Usuario \"7\" no encontrado");
+
+        Utf8JsonWriter writer = new Utf8JsonWriter(256);
+        jsonWriter.writeLegacy(errorResponse("USER_NOT_FOUND", "Usuario \"7\" no encontrado", "uri=/users/7"), writer);
+        assertEquals(withoutTimestamp(text(writer)), withoutTimestamp(body));
+    }
+
+    @Test
+    void problemBodyMatchesTheWriter() {
+        PrecomputedErrorResponses responses = new PrecomputedErrorResponses(16, true);
+
+        String body = body(responses, MediaType.APPLICATION_PROBLEM_JSON, null, "Usuario no encontrado");
+
+        Utf8JsonWriter writer = new Utf8JsonWriter(256);
+        jsonWriter.writeProblem(errorResponse(null, "Usuario no encontrado", "uri=/users/7"), writer);
+        assertEquals(withoutTimestamp(text(writer)), withoutTimestamp(body));
+    }
+
+    @Test
+    void cachedFragmentsProduceTheSameBody() {
+        PrecomputedErrorResponses responses = new PrecomputedErrorResponses(16, false);
+
+        String first = body(responses, MediaType.APPLICATION_JSON, null, "Usuario no encontrado");
+        String second = body(responses, MediaType.APPLICATION_JSON, null, "Usuario no encontrado");
+
+        assertEquals(withoutTimestamp(first), withoutTimestamp(second));
+        assertEquals(1L, responses.size());
+    }
+
+    @Test
+    void negotiatesTheContentType() {
+        PrecomputedErrorResponses legacy = new PrecomputedErrorResponses(16, false);
+        PrecomputedErrorResponses problem = new PrecomputedErrorResponses(16, true);
+
+        assertEquals(MediaType.APPLICATION_JSON, legacy.selectContentType(List.of()));
+        assertEquals(MediaType.APPLICATION_JSON, legacy.selectContentType(MediaType.parseMediaTypes("*/*")));
+        assertNull(legacy.selectContentType(MediaType.parseMediaTypes("application/problem+json")));
+        assertNull(legacy.selectContentType(MediaType.parseMediaTypes("text/html")));
+
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, problem.selectContentType(List.of()));
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, problem.selectContentType(MediaType.parseMediaTypes("*/*")));
+        assertEquals(MediaType.APPLICATION_JSON, problem.selectContentType(MediaType.parseMediaTypes("application/json")));
+        assertEquals(MediaType.APPLICATION_JSON, problem.selectContentType(MediaType.parseMediaTypes("*/*, application/json")));
+        assertEquals(MediaType.APPLICATION_JSON,
+                problem.selectContentType(MediaType.parseMediaTypes("application/problem+json;q=0.5, application/json")));
+        assertNull(problem.selectContentType(MediaType.parseMediaTypes("text/html, application/json;q=0")));
+    }
+
+    private static String body(PrecomputedErrorResponses responses, MediaType contentType, String errorCode, String message) {
+        byte[] body = responses.body(contentType, HttpStatus.NOT_FOUND, 404, errorCode, message, "/users/7");
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static ErrorResponse errorResponse(String errorCode, String message, String path) {
+        ErrorResponse error = new ErrorResponse();
+        error.setStatus(HttpStatus.NOT_FOUND.name());
+        error.setCode(404);
+        error.setErrorCode(errorCode);
+        error.setMessage(message);
+        error.setPath(path);
+        return error;
+    }
+
+    private static String text(Utf8JsonWriter writer) {
+        return new String(writer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String withoutTimestamp(String json) {
+        return json.replaceAll(TIMESTAMP, "\"timestamp\":\"\"");
+    }
+}
@@ -0,0 +1,118 @@
+package com.driagon.services.error.handler;
+
+import com.driagon.services.error.catalog.ErrorCatalog;
+import com.driagon.services.error.catalog.ErrorCode;
+import com.driagon.services.error.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ReactiveExceptionHandler} negocia el formato con el header Accept y, con el modo pre-serializado,
+ * escribe el mismo cuerpo que el camino de {@link com.driagon.services.error.models.ErrorResponse}.
+ */
+class ReactiveExceptionHandlerTest {
+
+    private static final String TIMESTAMP = "\"timestamp\":\"[^\"]*\"";
+
+    @Test
+    void writesProblemJsonWhenTheClientAcceptsIt() {
+        MockServerWebExchange exchange = exchange("application/problem+json");
+
+        handler(null, true).handle(exchange, new NotFoundException("Usuario no encontrado")).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, exchange.getResponse().getHeaders().getContentType());
+        String body = exchange.getResponse().getBodyAsString().block();
+        assertTrue(body.startsWith("{\"type\":\"about:blank\""), body);
+        assertTrue(body.contains("\"instance\":\"/users/7\""), body);
+    }
+
+    @Test
+    void writesLegacyJsonWhenTheClientPrefersIt() {
+        MockServerWebExchange exchange = exchange("application/problem+json;q=0.5, application/json");
+
+        handler(null, true).handle(exchange, new NotFoundException("Usuario no encontrado")).block();
+
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+        assertTrue(exchange.getResponse().getBodyAsString().block().contains("\"path\":\"uri=/users/7\""));
+    }
+
+    @Test
+    void fallsBackToJsonWhenNothingIsAcceptable() {
+        MockServerWebExchange exchange = exchange("text/html");
+
+        handler(null, true).handle(exchange, new IllegalStateException("falla")).block();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+    }
+
+    @Test
+    void precomputedBodiesMatchTheWriter() {
+        for (String accept : new String[]{"application/json", "application/problem+json"}) {
+            MockServerWebExchange written = exchange(accept);
+            MockServerWebExchange precomputed = exchange(accept);
+            NotFoundException exception = new NotFoundException("Usuario \"7\" no encontrado");
+
+            handler(null, true).handle(written, exception).block();
+            handler(new PrecomputedErrorResponses(16, true), true).handle(precomputed, exception).block();
+
+            assertEquals(written.getResponse().getHeaders().getContentType(), precomputed.getResponse().getHeaders().getContentType());
+            assertEquals(withoutTimestamp(written.getResponse().getBodyAsString().block()),
+                    withoutTimestamp(precomputed.getResponse().getBodyAsString().block()));
+        }
+    }
+
+    @Test
+    void resolvesCodedMessagesWithTheInjectedCatalog() {
+        ErrorCatalog catalog = new ErrorCatalog(Map.of(Locale.ROOT, Map.of("USER_NOT_FOUND", "El usuario {0} no existe")), null);
+        NotFoundException exception = new NotFoundException(UserErrors.USER_NOT_FOUND, "7");
+        MockServerWebExchange exchange = exchange("application/json");
+
+        handler(null, catalog, false).handle(exchange, exception).block();
+
+        assertTrue(exchange.getResponse().getBodyAsString().block().contains("\"message\":\"El usuario 7 no existe\""));
+        assertEquals("Usuario 7 no encontrado", exception.getMessage());
+    }
+
+    private static ReactiveExceptionHandler handler(PrecomputedErrorResponses precomputedResponses, boolean problemJson) {
+        return handler(precomputedResponses, ErrorCatalog.empty(), problemJson);
+    }
+
+    private static ReactiveExceptionHandler handler(PrecomputedErrorResponses precomputedResponses, ErrorCatalog catalog,
+                                                    boolean problemJson) {
+        return new ReactiveExceptionHandler(precomputedResponses, null, null, ValidationErrorCollector.unlimited(),
+                catalog, problemJson);
+    }
+
+    private static MockServerWebExchange exchange(String accept) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/users/7").header("Accept", accept));
+    }
+
+    private static String withoutTimestamp(String json) {
+        return json.replaceAll(TIMESTAMP, "\"timestamp\":\"\"");
+    }
+
+    private enum UserErrors implements ErrorCode {
+        USER_NOT_FOUND;
+
+        @Override
+        public String key() {
+            return name();
+        }
+
+        @Override
+        public String defaultMessage() {
+            return "Usuario {0} no encontrado";
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.driagon.services.error.handler;
+
+import com.driagon.services.error.models.ErrorDetail;
+import com.driagon.services.error.models.ErrorResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.FieldError;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Límite y agrupación de los detalles de validación; las rutas solo se renderizan si pueden llegar a la respuesta.
+ */
+class ValidationErrorCollectorTest {
+
+    private final AtomicInteger renderedPaths = new AtomicInteger();
+
+    @Test
+    void groupsIndexedPathsWithTheSameMessage() {
+        List<FieldError> errors = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            errors.add(new FieldError("order", "items[" + i + "].price", "debe ser positivo"));
+        }
+        ErrorResponse error = new ErrorResponse();
+
+        new ValidationErrorCollector(10, true).collectFieldErrors(errors, error);
+
+        assertEquals(1, error.getDetails().size());
+        ErrorDetail detail = error.getDetails().get(0);
+        assertEquals("items[*].price", detail.getField());
+        assertEquals(5, detail.getCount());
+        assertEquals(5, error.getTotalDetails());
+    }
+
+    @Test
+    void afterTheCapOnlyMatchingMessagesRenderTheirPath() {
+        List<ConstraintViolation<?>> violations = List.of(
+                violation("items[0].price", "debe ser positivo"),
+                violation("items[0].name", "no debe estar vacío"),
+                violation("items[1].name", "no debe estar vacío"),
+                violation("items[1].price", "debe ser positivo"),
+                violation("customer", "no debe ser nulo"));
+        ErrorResponse error = new ErrorResponse();
+
+        new ValidationErrorCollector(1, true).collectViolations(violations, error);
+
+        assertEquals(1, error.getDetails().size());
+        assertEquals(2, error.getDetails().get(0).getCount());
+        assertEquals(5, error.getTotalDetails());
+        assertEquals(2, renderedPaths.get());
+    }
+
+    @Test
+    void withoutRoomForGroupsNoPathIsRendered() {
+        List<ConstraintViolation<?>> violations = List.of(
+                violation("items[0].price", "debe ser positivo"),
+                violation("items[1].price", "debe ser positivo"));
+        ErrorResponse error = new ErrorResponse();
+
+        new ValidationErrorCollector(0, true).collectViolations(violations, error);
+
+        assertTrue(error.getDetails().isEmpty());
+        assertEquals(2, error.getTotalDetails());
+        assertEquals(0, renderedPaths.get());
+    }
+
+    @Test
+    void unlimitedKeepsOneDetailPerError() {
+        List<FieldError> errors = List.of(
+                new FieldError("user", "name", "no debe estar vacío"),
+                new FieldError("user", "email", "formato inválido"));
+        ErrorResponse error = new ErrorResponse();
+
+        ValidationErrorCollector.unlimited().collectFieldErrors(errors, error);
+
+        assertEquals(2, error.getDetails().size());
+        assertNull(error.getTotalDetails());
+    }
+
+    @Test
+    void normalizesOnlyNumericIndexes() {
+        assertEquals("items[*].tags[*]", ValidationErrorCollector.normalizeIndexes("items[12].tags[0]"));
+        assertEquals("map[key].value", ValidationErrorCollector.normalizeIndexes("map[key].value"));
+        assertEquals("name", ValidationErrorCollector.normalizeIndexes("name"));
+    }
+
+    private ConstraintViolation<?> violation(String path, String message) {
+        Path propertyPath = (Path) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Path.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("toString")) {
+                        renderedPaths.incrementAndGet();
+                        return path;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return (ConstraintViolation<?>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ConstraintViolation.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getPropertyPath" -> propertyPath;
+                    case "getMessage" -> message;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,63 @@
+package com.driagon.services.error.json;
+
+import com.driagon.services.error.models.ErrorDetail;
+import com.driagon.services.error.models.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * El formato legado de {@link ErrorResponseJsonWriter} es byte a byte el JSON que produce el ObjectMapper de la aplicación.
+ */
+class ErrorResponseJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ErrorResponseJsonWriter jsonWriter = new ErrorResponseJsonWriter();
+
+    @Test
+    void populatedResponseMatchesJackson() throws Exception {
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", 400, "Datos inválidos", "uri=/users");
+        error.setErrorCode("USER_INVALID");
+        ErrorDetail grouped = new ErrorDetail("items[].name", "no debe estar vacío", "NotBlank");
+        grouped.setCount(3);
+        error.setDetails(new ArrayList<>(List.of(new ErrorDetail("email", "formato inválido", "Email"), grouped)));
+        error.setTotalDetails(4);
+
+        assertMatchesJackson(error);
+    }
+
+    @Test
+    void escapesLikeJackson() throws Exception {
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", 400,
+                "comillas \" barra \\ /\n\r\t\b\f \u0000\u0001\u001f\u007f", "uri=/búsqueda?q=ñandú");
+        error.setDetails(new ArrayList<>(List.of(
+                new ErrorDetail("nombre", "año, 日本語 y € fuera de rango", null),
+                new ErrorDetail("emoji", "no se admite 😀 ni 𝄞", "Pattern"))));
+
+        assertMatchesJackson(error);
+    }
+
+    @Test
+    void omitsNullFieldsLikeJackson() throws Exception {
+        assertMatchesJackson(new ErrorResponse());
+
+        ErrorResponse withoutDetails = new ErrorResponse("NOT_FOUND", 404, "Usuario no encontrado", "uri=/users/7");
+        assertMatchesJackson(withoutDetails);
+
+        withoutDetails.setDetails(null);
+        assertMatchesJackson(withoutDetails);
+    }
+
+    private void assertMatchesJackson(ErrorResponse error) throws Exception {
+        Utf8JsonWriter writer = new Utf8JsonWriter(16);
+        jsonWriter.writeLegacy(error, writer);
+
+        assertEquals(objectMapper.writeValueAsString(error), new String(writer.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
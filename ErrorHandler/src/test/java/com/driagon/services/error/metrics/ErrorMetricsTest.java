@@ -0,0 +1,67 @@
+package com.driagon.services.error.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contadores acotados y callbacks de {@link ErrorMetrics}.
+ */
+class ErrorMetricsTest {
+
+    @Test
+    void countsByExceptionStatusAndPath() {
+        ErrorMetrics metrics = new ErrorMetrics(100);
+
+        metrics.record(IllegalStateException.class, 500, "/api/orders");
+        metrics.record(IllegalStateException.class, 500, "/api/orders");
+        metrics.record(IllegalStateException.class, 503, "/api/orders");
+        metrics.record(IllegalArgumentException.class, 400, "/api/orders/{id}");
+
+        assertEquals(3, metrics.getCounters().size());
+        assertEquals(2L, count(metrics, IllegalStateException.class.getName(), 500, "/api/orders"));
+    }
+
+    @Test
+    void everyListenerSeesExistingAndNewCounters() {
+        ErrorMetrics metrics = new ErrorMetrics(100);
+        metrics.record(IllegalStateException.class, 500, "/api/orders");
+
+        List<ErrorCounter> first = new ArrayList<>();
+        List<ErrorCounter> second = new ArrayList<>();
+        metrics.onCounter(first::add);
+        metrics.onCounter(second::add);
+        metrics.record(IllegalArgumentException.class, 400, "/api/orders");
+
+        assertEquals(2, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void newExceptionTypesAndPathsAreGroupedOnceTheLimitIsReached() {
+        ErrorMetrics metrics = new ErrorMetrics(2);
+
+        metrics.record(IllegalStateException.class, 500, "/a");
+        metrics.record(IllegalArgumentException.class, 400, "/b");
+        metrics.record(IllegalStateException.class, 500, "/c");
+        metrics.record(UnsupportedOperationException.class, 500, "/d");
+        metrics.record(ArithmeticException.class, 500, "/e");
+
+        assertEquals(1L, count(metrics, IllegalStateException.class.getName(), 500, ErrorMetrics.OTHER_PATH));
+        assertEquals(2L, count(metrics, ErrorMetrics.OTHER_EXCEPTION, 500, ErrorMetrics.OTHER_PATH));
+        assertTrue(metrics.getCounters().size() <= 4, "contadores: " + metrics.getCounters().size());
+    }
+
+    private static long count(ErrorMetrics metrics, String exception, int status, String path) {
+        return metrics.getCounters().stream()
+                .filter(counter -> counter.getException().equals(exception)
+                        && counter.getStatus() == status
+                        && counter.getPath().equals(path))
+                .mapToLong(ErrorCounter::getCount)
+                .sum();
+    }
+}
@@ -0,0 +1,23 @@
+package com.driagon.services.healthcheck.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declara las dependencias de un indicador mediante las claves de otros indicadores
+ * (ver {@code BaseHealthIndicator#getIndicatorKey()}).
+ * El indicador solo se ejecuta cuando todas sus dependencias terminaron sin fallar.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HealthCheckDependsOn {
+
+    /**
+     * Claves de los indicadores de los que depende
+     */
+    String[] value();
+}
@@ -0,0 +1,71 @@
+package com.driagon.services.healthcheck.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class HealthCheckExecutorConfiguration {
+
+    private static final String THREAD_NAME_PREFIX = "health-check-";
+    private static final String SCHEDULER_THREAD_NAME_PREFIX = "health-check-scheduler-";
+
+    @Value("${health-check.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${health-check.executor.max-threads:8}")
+    private int maxThreads;
+
+    @Value("${health-check.executor.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * Executor dedicado a los health checks, aislado del ForkJoinPool común de la aplicación.
+     * Usa un pool acotado de hilos de plataforma o, si se configura, un hilo virtual por check.
+     * Se acompaña de un scheduler de un solo hilo para timeouts y refrescos en segundo plano.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HealthCheckExecutors healthCheckExecutors() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, daemonThreadFactory(SCHEDULER_THREAD_NAME_PREFIX));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return new HealthCheckExecutors(checkExecutor(), scheduler);
+    }
+
+    private ExecutorService checkExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxThreads,
+                maxThreads,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreadFactory(THREAD_NAME_PREFIX),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.driagon.services.healthcheck.configurations;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Hilos dedicados a los health checks.
+ * Se exponen agrupados en un solo bean para no registrar un Executor suelto en el
+ * contexto, lo que desactivaría el executor por defecto de Spring Boot.
+ */
+public class HealthCheckExecutors implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    public HealthCheckExecutors(ExecutorService executor, ScheduledExecutorService scheduler) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Executor donde se ejecutan los checks
+     */
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Scheduler para timeouts y refrescos; solo programa trabajo, nunca ejecuta checks
+     */
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.driagon.services.healthcheck.constants;
+
+public enum CircuitBreakerState {
+    CLOSED("CLOSED", "Los checks se ejecutan normalmente"),
+    OPEN("OPEN", "Los checks se omiten y se devuelve el último resultado fallido"),
+    HALF_OPEN("HALF_OPEN", "Se está ejecutando un check de prueba para decidir si el circuito se cierra");
+
+    private final String value;
+    private final String description;
+
+    CircuitBreakerState(String value, String description) {
+        this.value = value;
+        this.description = description;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
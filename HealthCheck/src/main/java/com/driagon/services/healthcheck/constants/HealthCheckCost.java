@@ -0,0 +1,28 @@
+package com.driagon.services.healthcheck.constants;
+
+public enum HealthCheckCost {
+    CHEAP("CHEAP", "Sin I/O, se resuelve en memoria"),
+    MODERATE("MODERATE", "I/O ligero con tiempos de respuesta cortos"),
+    EXPENSIVE("EXPENSIVE", "Consultas o llamadas remotas costosas");
+
+    private final String value;
+    private final String description;
+
+    HealthCheckCost(String value, String description) {
+        this.value = value;
+        this.description = description;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -4,7 +4,8 @@ public enum HealthStatus {
     UP("UP", "El servicio está funcionando correctamente"),
     DOWN("DOWN", "El servicio no está disponible"),
     UNKNOWN("UNKNOWN", "No se puede determinar el estado del servicio"),
-    OUT_OF_SERVICE("OUT_OF_SERVICE", "El servicio está fuera de servicio temporalmente");
+    OUT_OF_SERVICE("OUT_OF_SERVICE", "El servicio está fuera de servicio temporalmente"),
+    DEGRADED("DEGRADED", "El servicio responde, pero con latencia o tasa de error por encima del umbral");
 
     private final String value;
     private final String description;
@@ -0,0 +1,28 @@
+package com.driagon.services.healthcheck.constants;
+
+public enum HealthTier {
+    LIVENESS("LIVENESS", "Verificaciones en memoria que indican si la aplicación sigue viva"),
+    READINESS("READINESS", "Verificaciones rápidas o en caché que indican si la aplicación puede recibir tráfico"),
+    DEEP("DEEP", "Verificación completa de todas las dependencias bajo demanda");
+
+    private final String value;
+    private final String description;
+
+    HealthTier(String value, String description) {
+        this.value = value;
+        this.description = description;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
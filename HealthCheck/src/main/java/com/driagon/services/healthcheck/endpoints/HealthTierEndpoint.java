@@ -0,0 +1,46 @@
+package com.driagon.services.healthcheck.endpoints;
+
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.constants.HealthTier;
+import com.driagon.services.healthcheck.models.HealthCheckResponse;
+import com.driagon.services.healthcheck.services.HealthCheckService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Endpoint de actuator con un recurso por nivel:
+ * {@code /actuator/healthtiers/liveness}, {@code /readiness} y {@code /deep}.
+ * Responde 503 cuando el estado general es DOWN u OUT_OF_SERVICE.
+ */
+@Component
+@Endpoint(id = "healthtiers")
+public class HealthTierEndpoint {
+
+    private final HealthCheckService healthCheckService;
+
+    public HealthTierEndpoint(HealthCheckService healthCheckService) {
+        this.healthCheckService = healthCheckService;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<HealthCheckResponse> tier(@Selector String tier) {
+        HealthTier healthTier;
+        try {
+            healthTier = HealthTier.valueOf(tier.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        HealthCheckResponse response = healthCheckService.performHealthCheck(healthTier);
+        HealthStatus status = response.getOverallStatus();
+        int httpStatus = status == HealthStatus.DOWN || status == HealthStatus.OUT_OF_SERVICE
+                ? WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE
+                : WebEndpointResponse.STATUS_OK;
+        return new WebEndpointResponse<>(response, httpStatus);
+    }
+}
@@ -0,0 +1,44 @@
+package com.driagon.services.healthcheck.events;
+
+import com.driagon.services.healthcheck.constants.CircuitBreakerState;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Evento publicado cada vez que el circuito de un indicador cambia de estado
+ */
+public class CircuitBreakerStateChangedEvent extends ApplicationEvent {
+
+    private final String indicatorKey;
+    private final CircuitBreakerState previousState;
+    private final CircuitBreakerState newState;
+    private final long nextAttemptAt;
+
+    public CircuitBreakerStateChangedEvent(BaseHealthIndicator indicator, CircuitBreakerState previousState,
+                                           CircuitBreakerState newState, long nextAttemptAt) {
+        super(indicator);
+        this.indicatorKey = indicator.getIndicatorKey();
+        this.previousState = previousState;
+        this.newState = newState;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getIndicatorKey() {
+        return indicatorKey;
+    }
+
+    public CircuitBreakerState getPreviousState() {
+        return previousState;
+    }
+
+    public CircuitBreakerState getNewState() {
+        return newState;
+    }
+
+    /**
+     * Momento (epoch millis) del siguiente intento cuando el circuito queda abierto, 0 en otro caso
+     */
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+}
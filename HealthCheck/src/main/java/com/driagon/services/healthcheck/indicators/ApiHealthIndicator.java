@@ -1,6 +1,8 @@
 package com.driagon.services.healthcheck.indicators;
 
+import com.driagon.services.healthcheck.constants.HealthCheckCost;
 import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.constants.HealthTier;
 import com.driagon.services.healthcheck.models.ServiceHealth;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -49,4 +51,14 @@ public class ApiHealthIndicator extends BaseHealthIndicator implements HealthInd
     protected String getServiceName() {
         return applicationName + " - API";
     }
-}
\ No newline at end of file
+
+    @Override
+    public HealthTier getTier() {
+        return HealthTier.LIVENESS;
+    }
+
+    @Override
+    public HealthCheckCost getCost() {
+        return HealthCheckCost.CHEAP;
+    }
+}
@@ -1,41 +1,202 @@
 package com.driagon.services.healthcheck.indicators;
 
+import com.driagon.services.healthcheck.annotations.HealthCheckDependsOn;
+import com.driagon.services.healthcheck.constants.CircuitBreakerState;
+import com.driagon.services.healthcheck.constants.HealthCheckCost;
 import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.constants.HealthTier;
+import com.driagon.services.healthcheck.events.CircuitBreakerStateChangedEvent;
 import com.driagon.services.healthcheck.models.ServiceHealth;
 import com.driagon.services.logging.utils.MaskedLogger;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-public abstract class BaseHealthIndicator implements HealthIndicator {
+public abstract class BaseHealthIndicator implements HealthIndicator, EnvironmentAware, ApplicationEventPublisherAware {
+
+    private static final String INDICATOR_SUFFIX = "HealthIndicator";
 
     protected final MaskedLogger logger = MaskedLogger.getLogger(this.getClass());
 
+    private static final int DEFAULT_HISTORY_SIZE = 100;
+
+    /**
+     * Estado de Spring Boot para DEGRADED; para ordenarlo en la agregación de actuator se debe
+     * incluir en {@code management.endpoint.health.status.order}
+     */
+    public static final Status DEGRADED = new Status(HealthStatus.DEGRADED.getValue(), HealthStatus.DEGRADED.getDescription());
+
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile HealthHistory history = new HealthHistory(DEFAULT_HISTORY_SIZE, 0L);
+    private volatile long degradedLatencyMs;
+    private volatile double degradedErrorRate;
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Configura el historial, el umbral de degradación y el circuito del indicador con
+     * {@code health-check.history.*}, {@code health-check.degraded.*} y {@code health-check.circuit-breaker.*};
+     * el check de prueba del circuito semiabierto tiene como límite {@code circuit-breaker.trial-timeout},
+     * por defecto {@code health-check.timeout}. Cada propiedad puede sobrescribirse por indicador con {@code health-check.<clave>.*}
+     */
     @Override
-    public final Health health() {
-        long startTime = System.currentTimeMillis();
+    public void setEnvironment(Environment environment) {
+        history = new HealthHistory(
+                indicatorProperty(environment, "history.size", Integer.class, DEFAULT_HISTORY_SIZE),
+                indicatorProperty(environment, "history.window", Duration.class, Duration.ZERO).toMillis()
+        );
+        degradedLatencyMs = indicatorProperty(environment, "degraded.latency-threshold", Duration.class, Duration.ZERO).toMillis();
+        degradedErrorRate = indicatorProperty(environment, "degraded.error-rate-threshold", Double.class, 0.0);
+
+        boolean enabled = indicatorProperty(environment, "circuit-breaker.enabled", Boolean.class, false);
+        if (!enabled) {
+            circuitBreaker = null;
+            return;
+        }
+
+        circuitBreaker = new CircuitBreaker(
+                indicatorProperty(environment, "circuit-breaker.failure-threshold", Integer.class, 3),
+                indicatorProperty(environment, "circuit-breaker.initial-backoff", Duration.class, Duration.ofSeconds(5)).toMillis(),
+                indicatorProperty(environment, "circuit-breaker.max-backoff", Duration.class, Duration.ofMinutes(5)).toMillis(),
+                indicatorProperty(environment, "circuit-breaker.multiplier", Double.class, 2.0),
+                indicatorProperty(environment, "circuit-breaker.trial-timeout", Duration.class,
+                        environment.getProperty("health-check.timeout", Duration.class, Duration.ofSeconds(30))).toMillis(),
+                this::onCircuitBreakerTransition
+        );
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.eventPublisher = applicationEventPublisher;
+    }
 
+    /**
+     * Estadísticas de los últimos resultados del indicador
+     */
+    public HealthHistory.Stats getHistoryStats() {
+        return history.stats();
+    }
+
+    /**
+     * Registra como fallo un check que se canceló por timeout o por el tiempo límite global.
+     * Si era el check de prueba del circuito, el circuito se vuelve a abrir
+     * @param elapsedMs Tiempo transcurrido desde que inició el check hasta su cancelación
+     * @param worker Hilo que ejecutaba el check
+     */
+    public void recordTimeout(long elapsedMs, Thread worker) {
+        history.record(elapsedMs, true);
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null) {
+            breaker.onAborted(worker);
+        }
+    }
+
+    /**
+     * Circuito del indicador o null si está deshabilitado
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Ejecuta el check y devuelve su resultado sin pasar por el {@link Health} de actuator.
+     * Aplica el circuito, registra el resultado en el historial y marca la degradación.
+     * @return ServiceHealth con el tiempo de respuesta y el historial en sus detalles
+     */
+    public final ServiceHealth check() {
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker == null) {
+            return executeHealthCheck();
+        }
+
+        ServiceHealth openResult = breaker.tryAcquire();
+        if (openResult != null) {
+            return openResult;
+        }
+
+        ServiceHealth result = null;
         try {
-            ServiceHealth serviceHealth = doHealthCheck();
-            long responseTime = System.currentTimeMillis() - startTime;
+            result = executeHealthCheck();
+            return result;
+        } finally {
+            // Si el check no devolvió resultado (Error o interrupción) cuenta como fallo
+            breaker.onResult(result);
+        }
+    }
 
-            return buildHealthResponse(serviceHealth, responseTime);
+    /**
+     * El {@link Health} de actuator solo se construye cuando actuator lo solicita
+     */
+    @Override
+    public final Health health() {
+        return buildHealthResponse(check());
+    }
 
+    private ServiceHealth executeHealthCheck() {
+        long startTime = System.currentTimeMillis();
+        ServiceHealth serviceHealth;
+
+        try {
+            serviceHealth = doHealthCheck();
         } catch (Exception e) {
             logger.error("Error ejecutando health check para {}: {}", getServiceName(), e.getMessage(), e);
 
-            long responseTime = System.currentTimeMillis() - startTime;
-            ServiceHealth errorHealth = new ServiceHealth();
-            errorHealth.setServiceName(getServiceName());
-            errorHealth.setStatus(HealthStatus.DOWN);
-            errorHealth.setMessage("Error: " + e.getMessage());
-            errorHealth.setResponseTimeMs(responseTime);
+            serviceHealth = new ServiceHealth();
+            serviceHealth.setServiceName(getServiceName());
+            serviceHealth.setStatus(HealthStatus.DOWN);
+            serviceHealth.setMessage("Error: " + e.getMessage());
+        }
+
+        long responseTime = System.currentTimeMillis() - startTime;
+        HealthHistory current = history;
+        // Un check cancelado ya quedó registrado como timeout por quien lo canceló
+        if (!Thread.currentThread().isInterrupted()) {
+            current.record(responseTime, serviceHealth.getStatus() == HealthStatus.DOWN);
+        }
+        HealthHistory.Stats stats = current.stats();
 
-            return buildHealthResponse(errorHealth, responseTime);
+        if (serviceHealth.getStatus() == HealthStatus.UP && isDegraded(stats)) {
+            serviceHealth.setStatus(HealthStatus.DEGRADED);
         }
+        serviceHealth.setResponseTimeMs(responseTime);
+
+        // Los detalles del indicador pueden ser inmutables (Map.of): se copian para agregar el historial
+        Map<String, Object> source = serviceHealth.getDetails();
+        Map<String, Object> details = source != null ? new LinkedHashMap<>(source) : new LinkedHashMap<>();
+        details.put("history", historyDetails(stats));
+        serviceHealth.setDetails(details);
+        return serviceHealth;
+    }
+
+    private static Map<String, Object> historyDetails(HealthHistory.Stats stats) {
+        Map<String, Object> historyDetails = new LinkedHashMap<>();
+        historyDetails.put("samples", stats.samples());
+        historyDetails.put("p50Ms", stats.p50Ms());
+        historyDetails.put("p95Ms", stats.p95Ms());
+        historyDetails.put("p99Ms", stats.p99Ms());
+        historyDetails.put("maxMs", stats.maxMs());
+        historyDetails.put("errorRate", stats.errorRate());
+        return historyDetails;
+    }
+
+    /**
+     * Un indicador UP se considera degradado si el p95 o la tasa de error de la ventana superan su umbral
+     */
+    private boolean isDegraded(HealthHistory.Stats stats) {
+        return (degradedLatencyMs > 0 && stats.p95Ms() > degradedLatencyMs)
+                || (degradedErrorRate > 0 && stats.errorRate() > degradedErrorRate);
     }
 
     /**
@@ -50,10 +211,81 @@ public abstract class BaseHealthIndicator implements HealthIndicator {
      */
     protected abstract String getServiceName();
 
+    /**
+     * Clave del indicador usada en las propiedades {@code health-check.<clave>.*}
+     * Por defecto es el nombre de la clase sin el sufijo HealthIndicator (ApiHealthIndicator -> api)
+     * @return Clave del indicador
+     */
+    public String getIndicatorKey() {
+        String name = ClassUtils.getUserClass(this).getSimpleName();
+        if (name.endsWith(INDICATOR_SUFFIX) && name.length() > INDICATOR_SUFFIX.length()) {
+            name = name.substring(0, name.length() - INDICATOR_SUFFIX.length());
+        }
+        return StringUtils.uncapitalize(name);
+    }
+
+    /**
+     * Claves de los indicadores de los que depende este indicador.
+     * Por defecto se toman de {@link HealthCheckDependsOn}
+     * @return Claves de las dependencias
+     */
+    public List<String> getDependencies() {
+        HealthCheckDependsOn dependsOn = ClassUtils.getUserClass(this).getAnnotation(HealthCheckDependsOn.class);
+        return dependsOn != null ? List.of(dependsOn.value()) : List.of();
+    }
+
+    /**
+     * Nivel mínimo en el que se evalúa el indicador; los niveles son acumulativos
+     * (READINESS incluye LIVENESS y DEEP incluye a todos).
+     * Puede sobrescribirse con {@code health-check.<clave>.tier}
+     * @return Nivel del indicador
+     */
+    public HealthTier getTier() {
+        return HealthTier.READINESS;
+    }
+
+    /**
+     * Costo de ejecutar el check. En LIVENESS solo se admiten checks CHEAP y en READINESS
+     * los checks EXPENSIVE se sirven desde su último resultado mientras no haya expirado.
+     * Puede sobrescribirse con {@code health-check.<clave>.cost}
+     * @return Costo del check
+     */
+    public HealthCheckCost getCost() {
+        return HealthCheckCost.MODERATE;
+    }
+
+    /**
+     * Indica si un DOWN de este indicador hace que el estado general sea DOWN. El DOWN de un
+     * indicador no crítico cuenta como {@code health-check.aggregation.non-critical-down-status}.
+     * Puede sobrescribirse con {@code health-check.<clave>.critical}
+     * @return true si el indicador es crítico
+     */
+    public boolean isCritical() {
+        return true;
+    }
+
+    private void onCircuitBreakerTransition(CircuitBreakerState previousState, CircuitBreakerState newState, long nextAttemptAt) {
+        if (newState == CircuitBreakerState.OPEN) {
+            logger.warn("Circuito abierto para {}: siguiente intento en {}", getServiceName(), Instant.ofEpochMilli(nextAttemptAt).toString());
+        } else {
+            logger.info("Circuito de {} cambió de {} a {}", getServiceName(), previousState, newState);
+        }
+
+        ApplicationEventPublisher publisher = eventPublisher;
+        if (publisher != null) {
+            publisher.publishEvent(new CircuitBreakerStateChangedEvent(this, previousState, newState, nextAttemptAt));
+        }
+    }
+
+    private <T> T indicatorProperty(Environment environment, String name, Class<T> type, T defaultValue) {
+        T globalValue = environment.getProperty("health-check." + name, type, defaultValue);
+        return environment.getProperty("health-check." + getIndicatorKey() + "." + name, type, globalValue);
+    }
+
     /**
      * Construye la respuesta de Spring Boot Actuator basada en ServiceHealth
      */
-    private Health buildHealthResponse(ServiceHealth serviceHealth, long responseTime) {
+    private Health buildHealthResponse(ServiceHealth serviceHealth) {
         // Convertir nuestro HealthStatus a Spring Boot Status
         Status springStatus = convertToSpringStatus(serviceHealth.getStatus());
 
@@ -75,7 +307,9 @@ public abstract class BaseHealthIndicator implements HealthIndicator {
             details.put("message", serviceHealth.getMessage());
         }
 
-        details.put("responseTimeMs", responseTime);
+        if (serviceHealth.getResponseTimeMs() != null) {
+            details.put("responseTimeMs", serviceHealth.getResponseTimeMs());
+        }
 
         if (serviceHealth.getTimestamp() != null) {
             details.put("timestamp", serviceHealth.getTimestamp());
@@ -110,6 +344,7 @@ public abstract class BaseHealthIndicator implements HealthIndicator {
             case DOWN -> Status.DOWN;
             case OUT_OF_SERVICE -> Status.OUT_OF_SERVICE;
             case UNKNOWN -> Status.UNKNOWN;
+            case DEGRADED -> DEGRADED;
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.driagon.services.healthcheck.indicators;
+
+import com.driagon.services.healthcheck.constants.CircuitBreakerState;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuito de un indicador con backoff exponencial.
+ * Tras {@code failureThreshold} fallos consecutivos el circuito se abre y los checks se omiten
+ * hasta el siguiente intento; entonces un único check de prueba decide si se cierra o
+ * se vuelve a abrir con un backoff mayor.
+ * Un check de prueba abortado o que excede {@code trialTimeoutMs} cuenta como fallo, para que
+ * un check colgado no deje el circuito semiabierto indefinidamente.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * Recibe los cambios de estado; se invoca fuera del bloqueo del circuito
+     */
+    @FunctionalInterface
+    public interface TransitionListener {
+        void onTransition(CircuitBreakerState previousState, CircuitBreakerState newState, long nextAttemptAt);
+    }
+
+    private final int failureThreshold;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double multiplier;
+    private final long trialTimeoutMs;
+    private final TransitionListener listener;
+    private final LongAdder rejectedChecks = new LongAdder();
+
+    private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private int consecutiveFailures;
+    private int consecutiveOpenings;
+    private long nextAttemptAt;
+    private long trialStartedAt;
+
+    /**
+     * Hilo que ejecuta el check de prueba en curso
+     */
+    private Thread trialThread;
+
+    /**
+     * Hilo del último check de prueba abandonado; su resultado tardío se descarta
+     */
+    private Thread abandonedTrial;
+
+    /**
+     * Resultado del circuito abierto; nunca se entrega directamente, cada llamador recibe una copia
+     */
+    private ServiceHealth openResult;
+
+    /**
+     * @param trialTimeoutMs Tiempo máximo del check de prueba; al vencer el circuito se vuelve a abrir
+     */
+    public CircuitBreaker(int failureThreshold, long initialBackoffMs, long maxBackoffMs, double multiplier,
+                          long trialTimeoutMs, TransitionListener listener) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = Math.max(initialBackoffMs, maxBackoffMs);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.trialTimeoutMs = Math.max(1L, trialTimeoutMs);
+        this.listener = listener;
+    }
+
+    public synchronized CircuitBreakerState getState() {
+        return state;
+    }
+
+    /**
+     * Momento (epoch millis) del siguiente intento si el circuito está abierto, 0 en otro caso
+     */
+    public synchronized long getNextAttemptAt() {
+        return state == CircuitBreakerState.CLOSED ? 0L : nextAttemptAt;
+    }
+
+    /**
+     * Checks omitidos por tener el circuito abierto
+     */
+    public long getRejectedChecks() {
+        return rejectedChecks.sum();
+    }
+
+    /**
+     * Decide si el check puede ejecutarse
+     * @return null si debe ejecutarse, o una copia del último resultado fallido si el circuito está abierto
+     */
+    ServiceHealth tryAcquire() {
+        ServiceHealth rejected;
+        long expiredAttemptAt = 0L;
+        synchronized (this) {
+            if (state == CircuitBreakerState.CLOSED) {
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            if (state == CircuitBreakerState.HALF_OPEN && now - trialStartedAt >= trialTimeoutMs) {
+                abandonTrial("Timeout: el check de prueba del circuito excedió su tiempo límite");
+                expiredAttemptAt = nextAttemptAt;
+            }
+            if (state == CircuitBreakerState.HALF_OPEN || now < nextAttemptAt) {
+                rejectedChecks.increment();
+                rejected = openResult;
+            } else {
+                // Solo el primer llamador tras el backoff ejecuta el check de prueba
+                state = CircuitBreakerState.HALF_OPEN;
+                trialThread = Thread.currentThread();
+                trialStartedAt = now;
+                rejected = null;
+            }
+        }
+        if (expiredAttemptAt != 0L) {
+            listener.onTransition(CircuitBreakerState.HALF_OPEN, CircuitBreakerState.OPEN, expiredAttemptAt);
+        }
+        if (rejected != null) {
+            // El agregador y los llamadores pueden modificar el resultado: no se comparte la instancia
+            return rejected.copy();
+        }
+        listener.onTransition(CircuitBreakerState.OPEN, CircuitBreakerState.HALF_OPEN, 0L);
+        return null;
+    }
+
+    /**
+     * Registra el resultado de un check ejecutado; null equivale a un fallo sin resultado
+     */
+    void onResult(ServiceHealth result) {
+        CircuitBreakerState previous;
+        long attemptAt;
+        synchronized (this) {
+            if (abandonedTrial == Thread.currentThread()) {
+                // El check de prueba ya se contó como fallo al abortarse o vencer su tiempo límite
+                abandonedTrial = null;
+                return;
+            }
+            if (trialThread == Thread.currentThread()) {
+                trialThread = null;
+            }
+            previous = state;
+            if (result != null && result.getStatus() != HealthStatus.DOWN) {
+                consecutiveFailures = 0;
+                consecutiveOpenings = 0;
+                openResult = null;
+                state = CircuitBreakerState.CLOSED;
+            } else {
+                consecutiveFailures++;
+                if (previous == CircuitBreakerState.CLOSED && consecutiveFailures < failureThreshold) {
+                    return;
+                }
+                open(result);
+            }
+            attemptAt = state == CircuitBreakerState.OPEN ? nextAttemptAt : 0L;
+        }
+        if (previous != state) {
+            listener.onTransition(previous, state, attemptAt);
+        }
+    }
+
+    /**
+     * Registra que se abortó el check que se ejecutaba en el hilo indicado.
+     * Si era el check de prueba cuenta como fallo y el circuito se vuelve a abrir con un backoff mayor
+     */
+    void onAborted(Thread worker) {
+        long attemptAt;
+        synchronized (this) {
+            if (state != CircuitBreakerState.HALF_OPEN || worker == null || worker != trialThread) {
+                return;
+            }
+            abandonTrial("Timeout: el check de prueba del circuito fue abortado");
+            attemptAt = nextAttemptAt;
+        }
+        listener.onTransition(CircuitBreakerState.HALF_OPEN, CircuitBreakerState.OPEN, attemptAt);
+    }
+
+    private void abandonTrial(String message) {
+        abandonedTrial = trialThread;
+        trialThread = null;
+        consecutiveFailures++;
+        ServiceHealth failure = new ServiceHealth();
+        if (openResult != null) {
+            failure.setServiceName(openResult.getServiceName());
+            failure.setUrl(openResult.getUrl());
+            failure.setQuery(openResult.getQuery());
+        }
+        failure.setStatus(HealthStatus.DOWN);
+        failure.setMessage(message);
+        failure.setResponseTimeMs(System.currentTimeMillis() - trialStartedAt);
+        open(failure);
+    }
+
+    private void open(ServiceHealth failure) {
+        long backoffMs = (long) Math.min(maxBackoffMs, initialBackoffMs * Math.pow(multiplier, consecutiveOpenings));
+        consecutiveOpenings++;
+        nextAttemptAt = System.currentTimeMillis() + backoffMs;
+        state = CircuitBreakerState.OPEN;
+
+        // El resultado del circuito abierto se arma una sola vez y no se modifica después
+        ServiceHealth open = new ServiceHealth();
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (failure != null) {
+            open.setServiceName(failure.getServiceName());
+            open.setStatus(failure.getStatus());
+            open.setMessage(failure.getMessage());
+            open.setUrl(failure.getUrl());
+            open.setQuery(failure.getQuery());
+            open.setResponseTimeMs(failure.getResponseTimeMs());
+            open.setTimestamp(failure.getTimestamp());
+            if (failure.getDetails() != null) {
+                details.putAll(failure.getDetails());
+            }
+        } else {
+            open.setStatus(HealthStatus.DOWN);
+            open.setMessage("Error: el health check no devolvió resultado");
+        }
+        details.put("circuitBreaker", CircuitBreakerState.OPEN.getValue());
+        details.put("consecutiveFailures", consecutiveFailures);
+        details.put("nextAttemptAt", Instant.ofEpochMilli(nextAttemptAt).toString());
+        open.setDetails(Collections.unmodifiableMap(details));
+        openResult = open;
+    }
+}
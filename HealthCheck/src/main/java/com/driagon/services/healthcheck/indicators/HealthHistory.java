@@ -0,0 +1,111 @@
+package com.driagon.services.healthcheck.indicators;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Historial de los últimos resultados de un indicador en un buffer circular sin bloqueos.
+ * Cada muestra ocupa una posición de arreglos primitivos preasignados; el escritor reserva
+ * la posición con un índice atómico y la publica con un sello de secuencia, de modo que los
+ * lectores descartan las posiciones que se estén escribiendo. Los lectores comparten un buffer
+ * de trabajo preasignado para ordenar la ventana, por lo que el cálculo de estadísticas se serializa.
+ */
+public final class HealthHistory {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long WRITING = -1L;
+
+    private final int capacity;
+    private final long maxAgeMs;
+    private final long[] latencies;
+    private final long[] recordedAt;
+    private final long[] stamps;
+    private final long[] scratch;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity Número máximo de resultados que se conservan
+     * @param maxAgeMs Antigüedad máxima de los resultados considerados, 0 para no limitarla
+     */
+    public HealthHistory(int capacity, long maxAgeMs) {
+        this.capacity = Math.max(1, capacity);
+        this.maxAgeMs = maxAgeMs;
+        this.latencies = new long[this.capacity];
+        this.recordedAt = new long[this.capacity];
+        this.stamps = new long[this.capacity];
+        this.scratch = new long[this.capacity];
+    }
+
+    /**
+     * Registra un resultado; los fallos se guardan con la latencia en negativo
+     */
+    public void record(long latencyMs, boolean failed) {
+        long seq = sequence.getAndIncrement();
+        int slot = (int) (seq % capacity);
+        long encoded = failed ? -(latencyMs + 1) : latencyMs;
+
+        LONGS.setOpaque(stamps, slot, WRITING);
+        VarHandle.storeStoreFence();
+        LONGS.setOpaque(latencies, slot, encoded);
+        LONGS.setOpaque(recordedAt, slot, System.currentTimeMillis());
+        LONGS.setRelease(stamps, slot, seq + 1);
+    }
+
+    /**
+     * Calcula las estadísticas de los resultados dentro de la ventana
+     */
+    public Stats stats() {
+        synchronized (scratch) {
+            return computeStats(scratch);
+        }
+    }
+
+    private Stats computeStats(long[] window) {
+        int samples = 0;
+        int failures = 0;
+        long oldest = maxAgeMs > 0 ? System.currentTimeMillis() - maxAgeMs : Long.MIN_VALUE;
+
+        for (int slot = 0; slot < capacity; slot++) {
+            long before = (long) LONGS.getAcquire(stamps, slot);
+            if (before <= 0) {
+                continue;
+            }
+            long encoded = (long) LONGS.getOpaque(latencies, slot);
+            long at = (long) LONGS.getOpaque(recordedAt, slot);
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getOpaque(stamps, slot) != before || at < oldest) {
+                continue;
+            }
+            if (encoded < 0) {
+                failures++;
+                encoded = -encoded - 1;
+            }
+            window[samples++] = encoded;
+        }
+
+        if (samples == 0) {
+            return Stats.EMPTY;
+        }
+        Arrays.sort(window, 0, samples);
+        return new Stats(samples, percentile(window, samples, 50), percentile(window, samples, 95),
+                percentile(window, samples, 99), window[samples - 1], (double) failures / samples);
+    }
+
+    /**
+     * Percentil por el método nearest-rank
+     */
+    private static long percentile(long[] sorted, int length, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Estadísticas de la ventana: latencias en milisegundos y tasa de error entre 0 y 1
+     */
+    public record Stats(int samples, long p50Ms, long p95Ms, long p99Ms, long maxMs, double errorRate) {
+
+        static final Stats EMPTY = new Stats(0, 0L, 0L, 0L, 0L, 0.0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.driagon.services.healthcheck.indicators;
+
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifica un endpoint HTTP con una petición HEAD (o el método configurado) y tiempos límite cortos.
+ * Todas las instancias comparten un único {@link HttpClient}, por lo que las conexiones se reutilizan
+ * entre verificaciones en lugar de abrirse en cada probe.
+ */
+@Component("httpEndpointHealthIndicator")
+@ConditionalOnProperty(
+        prefix = "health-check",
+        name = "http.url"
+)
+public class HttpEndpointHealthIndicator extends BaseHealthIndicator {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    private final URI uri;
+    private final HttpRequest request;
+
+    @Value("${health-check.http.description:Endpoint HTTP}")
+    private String description;
+
+    public HttpEndpointHealthIndicator(@Value("${health-check.http.url}") String url,
+                                       @Value("${health-check.http.method:HEAD}") String method,
+                                       @Value("${health-check.http.timeout:2s}") Duration timeout) {
+        this.uri = URI.create(url);
+        // La petición es inmutable: se arma una sola vez y se reutiliza en cada verificación
+        this.request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    @Override
+    protected ServiceHealth doHealthCheck() {
+        ServiceHealth serviceHealth = new ServiceHealth();
+        serviceHealth.setServiceName(getServiceName());
+        serviceHealth.setUrl(uri.toString());
+        Map<String, Object> details = new HashMap<>();
+        details.put("description", description);
+        details.put("method", request.method());
+
+        try {
+            HttpResponse<Void> response = SHARED_CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+            int statusCode = response.statusCode();
+            boolean up = statusCode < 400;
+            serviceHealth.setStatus(up ? HealthStatus.UP : HealthStatus.DOWN);
+            serviceHealth.setMessage(up ? "Endpoint disponible" : "El endpoint respondió con estado " + statusCode);
+            details.put("statusCode", statusCode);
+        } catch (IOException e) {
+            serviceHealth.setStatus(HealthStatus.DOWN);
+            // Algunas excepciones de conexión no traen mensaje, como ConnectException
+            serviceHealth.setMessage("Error de conexión: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            serviceHealth.setStatus(HealthStatus.DOWN);
+            serviceHealth.setMessage("Verificación interrumpida");
+        }
+
+        serviceHealth.setDetails(details);
+        return serviceHealth;
+    }
+
+    @Override
+    protected String getServiceName() {
+        return description;
+    }
+
+    @Override
+    public String getIndicatorKey() {
+        return "http";
+    }
+}
@@ -0,0 +1,92 @@
+package com.driagon.services.healthcheck.indicators;
+
+import com.driagon.services.healthcheck.constants.HealthCheckCost;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifica la base de datos tomando una conexión del pool de la aplicación.
+ * Por defecto valida con {@link Connection#isValid(int)}, que los drivers resuelven con su
+ * mecanismo más ligero; si se configura {@code health-check.jdbc.query} se ejecuta esa consulta.
+ */
+@Component("jdbcHealthIndicator")
+@ConditionalOnProperty(
+        prefix = "health-check",
+        name = "jdbc.enabled",
+        havingValue = "true"
+)
+public class JdbcHealthIndicator extends BaseHealthIndicator {
+
+    private final DataSource dataSource;
+    private final String query;
+    private final int validationTimeoutSeconds;
+
+    @Value("${health-check.jdbc.description:Base de datos}")
+    private String description;
+
+    public JdbcHealthIndicator(DataSource dataSource,
+                               @Value("${health-check.jdbc.query:}") String query,
+                               @Value("${health-check.jdbc.validation-timeout:2s}") Duration validationTimeout) {
+        this.dataSource = dataSource;
+        this.query = StringUtils.hasText(query) ? query : null;
+        // isValid y setQueryTimeout trabajan en segundos; 0 significaría sin límite
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    }
+
+    @Override
+    protected ServiceHealth doHealthCheck() {
+        ServiceHealth serviceHealth = new ServiceHealth();
+        serviceHealth.setServiceName(getServiceName());
+        serviceHealth.setQuery(query);
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean valid = query == null ? connection.isValid(validationTimeoutSeconds) : executeQuery(connection);
+            serviceHealth.setStatus(valid ? HealthStatus.UP : HealthStatus.DOWN);
+            serviceHealth.setMessage(valid ? "Conexión a base de datos válida" : "La conexión a base de datos no es válida");
+        } catch (SQLException e) {
+            serviceHealth.setStatus(HealthStatus.DOWN);
+            serviceHealth.setMessage("Error de base de datos: " + e.getMessage());
+        }
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("description", description);
+        details.put("validation", query == null ? "isValid" : "query");
+        serviceHealth.setDetails(details);
+        return serviceHealth;
+    }
+
+    private boolean executeQuery(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(validationTimeoutSeconds);
+            statement.execute(query);
+            return true;
+        }
+    }
+
+    @Override
+    protected String getServiceName() {
+        return description;
+    }
+
+    @Override
+    public String getIndicatorKey() {
+        return "jdbc";
+    }
+
+    @Override
+    public HealthCheckCost getCost() {
+        return query == null ? HealthCheckCost.MODERATE : HealthCheckCost.EXPENSIVE;
+    }
+}
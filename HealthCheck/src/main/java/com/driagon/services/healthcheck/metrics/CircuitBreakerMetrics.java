@@ -0,0 +1,68 @@
+package com.driagon.services.healthcheck.metrics;
+
+import com.driagon.services.healthcheck.constants.CircuitBreakerState;
+import com.driagon.services.healthcheck.events.CircuitBreakerStateChangedEvent;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.indicators.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Métricas de los circuitos de los indicadores:
+ * estado actual, checks omitidos con el circuito abierto y transiciones entre estados
+ */
+@Component
+public class CircuitBreakerMetrics implements MeterBinder {
+
+    private static final String STATE_METRIC = "health.check.circuit.breaker.state";
+    private static final String REJECTED_METRIC = "health.check.circuit.breaker.rejected";
+    private static final String TRANSITIONS_METRIC = "health.check.circuit.breaker.transitions";
+
+    private final List<BaseHealthIndicator> healthIndicators;
+    private volatile MeterRegistry registry;
+
+    public CircuitBreakerMetrics(List<BaseHealthIndicator> healthIndicators) {
+        this.healthIndicators = healthIndicators;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        for (BaseHealthIndicator indicator : healthIndicators) {
+            CircuitBreaker breaker = indicator.getCircuitBreaker();
+            if (breaker == null) {
+                continue;
+            }
+            String key = indicator.getIndicatorKey();
+
+            // Un gauge por estado con valor 1 para el estado actual
+            for (CircuitBreakerState state : CircuitBreakerState.values()) {
+                Gauge.builder(STATE_METRIC, breaker, b -> b.getState() == state ? 1 : 0)
+                        .tag("indicator", key)
+                        .tag("state", state.getValue())
+                        .register(registry);
+            }
+            FunctionCounter.builder(REJECTED_METRIC, breaker, CircuitBreaker::getRejectedChecks)
+                    .tag("indicator", key)
+                    .register(registry);
+        }
+    }
+
+    @EventListener
+    public void onStateChanged(CircuitBreakerStateChangedEvent event) {
+        MeterRegistry current = registry;
+        if (current != null) {
+            current.counter(TRANSITIONS_METRIC,
+                    "indicator", event.getIndicatorKey(),
+                    "from", event.getPreviousState().getValue(),
+                    "to", event.getNewState().getValue()
+            ).increment();
+        }
+    }
+}
@@ -42,6 +42,31 @@ public class HealthCheckResponse {
      */
     private String environment;
 
+    /**
+     * Indica si la respuesta es parcial porque se alcanzó el tiempo límite global
+     */
+    private boolean partial;
+
+    /**
+     * Antigüedad en milisegundos del resultado más viejo cuando la respuesta proviene del snapshot en caché
+     */
+    private Long snapshotAgeMs;
+
+    /**
+     * Indica si el snapshot en caché superó la antigüedad máxima configurada
+     */
+    private Boolean stale;
+
+    /**
+     * Latencia en milisegundos de la cadena de dependencias más lenta
+     */
+    private Long criticalPathMs;
+
+    /**
+     * Claves de los indicadores que forman la cadena de dependencias más lenta
+     */
+    private List<String> criticalPath;
+
     public HealthStatus getOverallStatus() {
         return overallStatus;
     }
@@ -97,4 +122,44 @@ public class HealthCheckResponse {
     public void setEnvironment(String environment) {
         this.environment = environment;
     }
-}
\ No newline at end of file
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    public Long getSnapshotAgeMs() {
+        return snapshotAgeMs;
+    }
+
+    public void setSnapshotAgeMs(Long snapshotAgeMs) {
+        this.snapshotAgeMs = snapshotAgeMs;
+    }
+
+    public Boolean getStale() {
+        return stale;
+    }
+
+    public void setStale(Boolean stale) {
+        this.stale = stale;
+    }
+
+    public Long getCriticalPathMs() {
+        return criticalPathMs;
+    }
+
+    public void setCriticalPathMs(Long criticalPathMs) {
+        this.criticalPathMs = criticalPathMs;
+    }
+
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public void setCriticalPath(List<String> criticalPath) {
+        this.criticalPath = criticalPath;
+    }
+}
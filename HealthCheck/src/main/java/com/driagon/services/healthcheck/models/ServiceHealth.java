@@ -3,6 +3,7 @@ package com.driagon.services.healthcheck.models;
 import com.driagon.services.healthcheck.constants.HealthStatus;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class ServiceHealth {
@@ -110,4 +111,20 @@ public class ServiceHealth {
     public void setQuery(String query) {
         this.query = query;
     }
+
+    /**
+     * Copia con sus propios detalles; los valores de los detalles se comparten
+     */
+    public ServiceHealth copy() {
+        ServiceHealth copy = new ServiceHealth();
+        copy.setServiceName(serviceName);
+        copy.setStatus(status);
+        copy.setDetails(details != null ? new LinkedHashMap<>(details) : null);
+        copy.setTimestamp(timestamp);
+        copy.setResponseTimeMs(responseTimeMs);
+        copy.setMessage(message);
+        copy.setUrl(url);
+        copy.setQuery(query);
+        return copy;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.logging.utils.MaskedLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo de dependencias entre indicadores, resuelto una sola vez al arrancar.
+ * Los índices corresponden a la posición de cada indicador en la lista del servicio.
+ */
+final class HealthCheckGraph {
+
+    private static final MaskedLogger logger = MaskedLogger.getLogger(HealthCheckGraph.class);
+    private static final int[] NONE = new int[0];
+
+    private final String[] keys;
+    private final int[][] dependencies;
+    private final int[][] dependents;
+    private final boolean hasDependencies;
+
+    private HealthCheckGraph(String[] keys, int[][] dependencies, int[][] dependents, boolean hasDependencies) {
+        this.keys = keys;
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+        this.hasDependencies = hasDependencies;
+    }
+
+    /**
+     * Construye el grafo y valida que las claves sean únicas y que no tenga ciclos
+     * @throws IllegalStateException si dos indicadores comparten clave o las dependencias forman un ciclo
+     */
+    static HealthCheckGraph build(List<BaseHealthIndicator> indicators) {
+        int size = indicators.size();
+        String[] keys = new String[size];
+        Map<String, Integer> indexByKey = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = indicators.get(i).getIndicatorKey();
+            Integer previous = indexByKey.putIfAbsent(keys[i], i);
+            if (previous != null) {
+                // Las dependencias y las propiedades health-check.<clave>.* serían ambiguas
+                throw new IllegalStateException("Los health checks " + indicators.get(previous).getClass().getName()
+                        + " y " + indicators.get(i).getClass().getName() + " tienen la misma clave '" + keys[i]
+                        + "': sobrescriba getIndicatorKey() en uno de ellos");
+            }
+        }
+
+        int[][] dependencies = new int[size][];
+        List<List<Integer>> dependentLists = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dependentLists.add(new ArrayList<>());
+        }
+        boolean hasDependencies = false;
+        for (int i = 0; i < size; i++) {
+            List<String> declared = indicators.get(i).getDependencies();
+            int[] resolved = new int[declared.size()];
+            int count = 0;
+            for (String dependency : declared) {
+                Integer index = indexByKey.get(dependency);
+                if (index == null) {
+                    // El indicador puede estar deshabilitado por configuración: se ignora la dependencia
+                    logger.warn("Dependencia {} del indicador {} no encontrada, se ignora", dependency, keys[i]);
+                    continue;
+                }
+                resolved[count++] = index;
+                dependentLists.get(index).add(i);
+            }
+            dependencies[i] = count == 0 ? NONE : Arrays.copyOf(resolved, count);
+            hasDependencies |= count > 0;
+        }
+
+        int[][] dependents = new int[size][];
+        for (int i = 0; i < size; i++) {
+            dependents[i] = dependentLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        HealthCheckGraph graph = new HealthCheckGraph(keys, dependencies, dependents, hasDependencies);
+        graph.verifyAcyclic();
+        return graph;
+    }
+
+    /**
+     * Subgrafo con los indicadores indicados; las dependencias fuera del subconjunto se descartan
+     * @param indices Índices de los indicadores incluidos; su posición es el índice en el subgrafo
+     */
+    HealthCheckGraph restrict(int[] indices) {
+        int[] positions = new int[keys.length];
+        Arrays.fill(positions, -1);
+        for (int position = 0; position < indices.length; position++) {
+            positions[indices[position]] = position;
+        }
+
+        String[] subKeys = new String[indices.length];
+        int[][] subDependencies = new int[indices.length][];
+        List<List<Integer>> dependentLists = new ArrayList<>(indices.length);
+        for (int position = 0; position < indices.length; position++) {
+            dependentLists.add(new ArrayList<>());
+        }
+        boolean subHasDependencies = false;
+        for (int position = 0; position < indices.length; position++) {
+            subKeys[position] = keys[indices[position]];
+            int[] mapped = new int[dependencies[indices[position]].length];
+            int count = 0;
+            for (int dependency : dependencies[indices[position]]) {
+                if (positions[dependency] != -1) {
+                    mapped[count++] = positions[dependency];
+                    dependentLists.get(positions[dependency]).add(position);
+                }
+            }
+            subDependencies[position] = count == 0 ? NONE : Arrays.copyOf(mapped, count);
+            subHasDependencies |= count > 0;
+        }
+
+        int[][] subDependents = new int[indices.length][];
+        for (int position = 0; position < indices.length; position++) {
+            subDependents[position] = dependentLists.get(position).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new HealthCheckGraph(subKeys, subDependencies, subDependents, subHasDependencies);
+    }
+
+    String key(int index) {
+        return keys[index];
+    }
+
+    int[] dependencies(int index) {
+        return dependencies[index];
+    }
+
+    boolean hasDependencies() {
+        return hasDependencies;
+    }
+
+    /**
+     * Cadena de dependencias que terminó más tarde
+     * @param finishedAt Momento en que terminó cada indicador, relativo al inicio de la verificación
+     * @return Índices desde la raíz hasta el último indicador en terminar
+     */
+    List<Integer> criticalPath(long[] finishedAt) {
+        int last = -1;
+        for (int i = 0; i < finishedAt.length; i++) {
+            if (last == -1 || finishedAt[i] > finishedAt[last]) {
+                last = i;
+            }
+        }
+
+        Deque<Integer> path = new ArrayDeque<>();
+        // Se retrocede por la dependencia que terminó más tarde, que es la que retrasó el inicio
+        for (int current = last; current != -1; ) {
+            path.addFirst(current);
+            int gating = -1;
+            for (int dependency : dependencies[current]) {
+                if (gating == -1 || finishedAt[dependency] > finishedAt[gating]) {
+                    gating = dependency;
+                }
+            }
+            current = gating;
+        }
+        return new ArrayList<>(path);
+    }
+
+    /**
+     * Ordenamiento topológico de Kahn: si no se visitan todos los nodos existe un ciclo
+     */
+    private void verifyAcyclic() {
+        int[] pending = new int[keys.length];
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < keys.length; i++) {
+            pending[i] = dependencies[i].length;
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            int current = ready.poll();
+            visited++;
+            for (int dependent : dependents[current]) {
+                if (--pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (visited < keys.length) {
+            List<String> cycle = new ArrayList<>();
+            for (int i = 0; i < keys.length; i++) {
+                if (pending[i] > 0) {
+                    cycle.add(keys[i]);
+                }
+            }
+            throw new IllegalStateException("Dependencias circulares entre los health checks: " + cycle);
+        }
+    }
+}
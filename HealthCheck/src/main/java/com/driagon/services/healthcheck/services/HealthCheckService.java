@@ -1,21 +1,44 @@
 package com.driagon.services.healthcheck.services;
 
+import com.driagon.services.healthcheck.configurations.HealthCheckExecutors;
+import com.driagon.services.healthcheck.constants.HealthCheckCost;
 import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.constants.HealthTier;
 import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
 import com.driagon.services.healthcheck.models.HealthCheckResponse;
 import com.driagon.services.healthcheck.models.ServiceHealth;
+import com.driagon.services.logging.utils.MaskedLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.actuate.health.Health;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
 
 @Service
 public class HealthCheckService {
 
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_READINESS_MAX_AGE = Duration.ofSeconds(30);
+
+    private static final MaskedLogger logger = MaskedLogger.getLogger(HealthCheckService.class);
+
     @Value("${spring.application.name:Unknown Application}")
     private String applicationName;
 
@@ -26,86 +49,518 @@ public class HealthCheckService {
     private String environment;
 
     private final List<BaseHealthIndicator> healthIndicators;
+    private final HealthCheckExecutors executors;
+    private final long globalTimeoutMs;
+    private final long[] indicatorTimeoutsMs;
+    private final HealthStatus deadlineStatus;
+    private final HealthCheckGraph graph;
+
+    private final boolean refreshEnabled;
+    private final long[] refreshIntervalsMs;
+    private final long staleAfterMs;
+    private final AtomicReference<HealthSnapshot> snapshot = new AtomicReference<>();
+    private volatile boolean running;
+
+    private final long coalescingTtlMs;
+
+    private final HealthCheckCost[] costs;
+    private final boolean[] critical;
+    private final HealthStatusAggregator aggregator;
+    private final Map<HealthTier, HealthTierPlan> tierPlans;
+    private final long readinessMaxAgeMs;
+    private final AtomicReferenceArray<IndicatorResult> lastResults;
 
     @Autowired
-    public HealthCheckService(List<BaseHealthIndicator> healthIndicators) {
+    public HealthCheckService(List<BaseHealthIndicator> healthIndicators, HealthCheckExecutors executors, Environment env) {
         this.healthIndicators = healthIndicators;
+        this.executors = executors;
+        this.graph = HealthCheckGraph.build(healthIndicators);
+        this.globalTimeoutMs = env.getProperty("health-check.timeout", Duration.class, DEFAULT_TIMEOUT).toMillis();
+        this.deadlineStatus = env.getProperty("health-check.deadline-status", HealthStatus.class, HealthStatus.UNKNOWN);
+        this.coalescingTtlMs = env.getProperty("health-check.coalescing.ttl", Duration.class, Duration.ZERO).toMillis();
+        this.refreshEnabled = env.getProperty("health-check.refresh.enabled", Boolean.class, false);
+
+        // La configuración por indicador se resuelve una sola vez: health-check.<clave>.*
+        Duration defaultIndicatorTimeout = env.getProperty("health-check.indicator-timeout", Duration.class, Duration.ofMillis(globalTimeoutMs));
+        Duration defaultRefreshInterval = env.getProperty("health-check.refresh.interval", Duration.class, DEFAULT_REFRESH_INTERVAL);
+        this.indicatorTimeoutsMs = new long[healthIndicators.size()];
+        this.refreshIntervalsMs = new long[healthIndicators.size()];
+        long maxRefreshIntervalMs = 0;
+        for (int i = 0; i < healthIndicators.size(); i++) {
+            String prefix = "health-check." + healthIndicators.get(i).getIndicatorKey();
+            indicatorTimeoutsMs[i] = env.getProperty(prefix + ".timeout", Duration.class, defaultIndicatorTimeout).toMillis();
+            refreshIntervalsMs[i] = env.getProperty(prefix + ".refresh-interval", Duration.class, defaultRefreshInterval).toMillis();
+            maxRefreshIntervalMs = Math.max(maxRefreshIntervalMs, refreshIntervalsMs[i]);
+        }
+        this.staleAfterMs = env.getProperty("health-check.refresh.stale-after", Duration.class,
+                Duration.ofMillis(2 * maxRefreshIntervalMs + globalTimeoutMs)).toMillis();
+
+        this.readinessMaxAgeMs = env.getProperty("health-check.readiness.max-age", Duration.class, DEFAULT_READINESS_MAX_AGE).toMillis();
+        this.lastResults = new AtomicReferenceArray<>(healthIndicators.size());
+        this.costs = new HealthCheckCost[healthIndicators.size()];
+        this.critical = new boolean[healthIndicators.size()];
+        this.aggregator = new HealthStatusAggregator(
+                env.getProperty("health-check.aggregation.non-critical-down-status", HealthStatus.class, HealthStatus.DEGRADED));
+        HealthTier[] tiers = new HealthTier[healthIndicators.size()];
+        for (int i = 0; i < healthIndicators.size(); i++) {
+            BaseHealthIndicator indicator = healthIndicators.get(i);
+            String prefix = "health-check." + indicator.getIndicatorKey();
+            tiers[i] = env.getProperty(prefix + ".tier", HealthTier.class, indicator.getTier());
+            costs[i] = env.getProperty(prefix + ".cost", HealthCheckCost.class, indicator.getCost());
+            critical[i] = env.getProperty(prefix + ".critical", Boolean.class, indicator.isCritical());
+            if (tiers[i] == HealthTier.LIVENESS && costs[i] != HealthCheckCost.CHEAP) {
+                // LIVENESS nunca debe hacer I/O: un check con costo se evalúa desde READINESS
+                logger.warn("El indicador {} con costo {} no puede ser LIVENESS, se evalúa en READINESS", indicator.getIndicatorKey(), costs[i]);
+                tiers[i] = HealthTier.READINESS;
+            }
+        }
+        this.tierPlans = buildTierPlans(tiers);
+    }
+
+    /**
+     * Los niveles son acumulativos: cada uno incluye a los indicadores de los niveles anteriores
+     */
+    private Map<HealthTier, HealthTierPlan> buildTierPlans(HealthTier[] tiers) {
+        Map<HealthTier, HealthTierPlan> plans = new EnumMap<>(HealthTier.class);
+        for (HealthTier tier : HealthTier.values()) {
+            int[] indices = IntStream.range(0, tiers.length)
+                    .filter(i -> tiers[i].ordinal() <= tier.ordinal())
+                    .toArray();
+            HealthCheckGraph tierGraph = indices.length == tiers.length ? graph : graph.restrict(indices);
+            boolean[] tierCritical = new boolean[indices.length];
+            for (int p = 0; p < indices.length; p++) {
+                tierCritical[p] = critical[indices[p]];
+            }
+            plans.put(tier, new HealthTierPlan(tier, indices, tierCritical, tierGraph));
+        }
+        return plans;
+    }
+
+    /**
+     * Inicia el refresco en segundo plano de cada indicador con su propio intervalo
+     */
+    @PostConstruct
+    public void startBackgroundRefresh() {
+        if (!refreshEnabled) {
+            return;
+        }
+
+        ServiceHealth[] pending = new ServiceHealth[healthIndicators.size()];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = HealthCheckTask.errorServiceHealth(healthIndicators.get(i), HealthStatus.UNKNOWN, "Pendiente de la primera verificación");
+        }
+        long now = System.currentTimeMillis();
+        long[] refreshedAt = new long[pending.length];
+        Arrays.fill(refreshedAt, now);
+        snapshot.set(buildSnapshot(pending, refreshedAt, 0L, false));
+
+        running = true;
+        for (int i = 0; i < healthIndicators.size(); i++) {
+            scheduleRefresh(i, 0L);
+        }
+    }
+
+    @PreDestroy
+    public void stopBackgroundRefresh() {
+        running = false;
     }
 
     /**
-     * Ejecuta todos los health checks y retorna una respuesta consolidada
+     * Ejecuta todos los health checks y retorna una respuesta consolidada.
+     * Con el refresco en segundo plano habilitado devuelve el último snapshot sin ejecutar ningún check.
      */
     public HealthCheckResponse performHealthCheck() {
-        long startTime = System.currentTimeMillis();
+        return performHealthCheck(false);
+    }
+
+    /**
+     * Igual que {@link #performHealthCheck()}, pero permite forzar una verificación síncrona
+     * que además actualiza el snapshot en caché
+     */
+    public HealthCheckResponse performHealthCheck(boolean forceRefresh) {
+        // El tiempo de espera está acotado por el tiempo límite global de la verificación
+        return performHealthCheckAsync(forceRefresh).join();
+    }
 
-        List<ServiceHealth> serviceHealths = healthIndicators.parallelStream()
-                .map(this::executeHealthCheck)
-                .toList();
+    /**
+     * Versión no bloqueante de {@link #performHealthCheck(boolean)}.
+     * Las llamadas concurrentes comparten la verificación en curso, por lo que la respuesta
+     * devuelta puede ser la misma instancia para varios llamadores y no debe modificarse.
+     */
+    public CompletableFuture<HealthCheckResponse> performHealthCheckAsync(boolean forceRefresh) {
+        HealthTierPlan plan = tierPlans.get(HealthTier.DEEP);
+        HealthSnapshot current = snapshot.get();
+        if (!refreshEnabled || forceRefresh || current == null) {
+            return coalescedHealthCheck(plan, forceRefresh);
+        }
+        return CompletableFuture.completedFuture(readSnapshot(current, plan));
+    }
 
-        long totalTime = System.currentTimeMillis() - startTime;
-        HealthStatus overallStatus = determineOverallStatus(serviceHealths);
+    /**
+     * Evalúa solo los indicadores del nivel indicado:
+     * <ul>
+     *     <li>LIVENESS ejecuta sus checks en memoria en el hilo del llamador, sin pasar por el executor</li>
+     *     <li>READINESS usa el snapshot si el refresco está habilitado; si no, ejecuta sus checks
+     *     reutilizando el último resultado de los EXPENSIVE mientras no expire</li>
+     *     <li>DEEP ejecuta la verificación completa bajo demanda</li>
+     * </ul>
+     */
+    public HealthCheckResponse performHealthCheck(HealthTier tier) {
+        return performHealthCheckAsync(tier).join();
+    }
 
-        HealthCheckResponse response = new HealthCheckResponse();
-        response.setApplicationName(applicationName);
-        response.setVersion(applicationVersion);
-        response.setEnvironment(environment);
-        response.setOverallStatus(overallStatus);
-        response.setServices(serviceHealths);
-        response.setTotalResponseTimeMs(totalTime);
-        return response;
+    /**
+     * Versión no bloqueante de {@link #performHealthCheck(HealthTier)}
+     */
+    public CompletableFuture<HealthCheckResponse> performHealthCheckAsync(HealthTier tier) {
+        HealthTierPlan plan = tierPlans.get(tier);
+        return switch (tier) {
+            case LIVENESS -> CompletableFuture.completedFuture(runInline(plan));
+            case READINESS -> {
+                HealthSnapshot current = snapshot.get();
+                yield refreshEnabled && current != null
+                        ? CompletableFuture.completedFuture(readSnapshot(current, plan))
+                        : coalescedHealthCheck(plan, false);
+            }
+            case DEEP -> coalescedHealthCheck(plan, false);
+        };
     }
 
-    private ServiceHealth executeHealthCheck(BaseHealthIndicator indicator) {
+    /**
+     * Single-flight por nivel: solo una verificación se ejecuta a la vez y el resto de llamadores
+     * esperan su resultado. Si hay TTL configurado, el último resultado se reutiliza mientras no expire.
+     */
+    private CompletableFuture<HealthCheckResponse> coalescedHealthCheck(HealthTierPlan plan, boolean forceRefresh) {
+        if (!forceRefresh && coalescingTtlMs > 0) {
+            HealthTierPlan.CompletedHealthCheck last = plan.lastCompleted();
+            if (last != null && System.currentTimeMillis() - last.completedAt() < coalescingTtlMs) {
+                return CompletableFuture.completedFuture(last.response());
+            }
+        }
+
+        // Una verificación forzada también se une a la que está en curso: ya se inició después de la petición
+        AtomicReference<CompletableFuture<HealthCheckResponse>> inFlight = plan.inFlight();
+        while (true) {
+            CompletableFuture<HealthCheckResponse> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<HealthCheckResponse> leader = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, leader)) {
+                startFlight(plan, leader);
+                return leader;
+            }
+        }
+    }
+
+    private void startFlight(HealthTierPlan plan, CompletableFuture<HealthCheckResponse> leader) {
+        CompletableFuture<HealthCheckResponse> flight;
         try {
-            // Ejecutar con timeout
-            CompletableFuture<Health> future = CompletableFuture.supplyAsync(indicator::health);
-            Health health = future.get(30, TimeUnit.SECONDS);
+            flight = runHealthCheck(plan);
+        } catch (RuntimeException e) {
+            flight = CompletableFuture.failedFuture(e);
+        }
+        flight.whenComplete((response, error) -> {
+            if (response != null) {
+                plan.lastCompleted(new HealthTierPlan.CompletedHealthCheck(response, System.currentTimeMillis()));
+            }
+            // Se libera antes de completar para que quien llegue después inicie una verificación nueva
+            plan.inFlight().compareAndSet(leader, null);
+            if (error != null) {
+                leader.completeExceptionally(error);
+            } else {
+                leader.complete(response);
+            }
+        });
+    }
+
+    private CompletableFuture<HealthCheckResponse> runHealthCheck(HealthTierPlan plan) {
+        long startTime = System.currentTimeMillis();
+        boolean fullCheck = plan.size() == healthIndicators.size();
+        boolean reuseExpensive = plan.tier() == HealthTier.READINESS;
+
+        HealthCheckTask[] tasks = new HealthCheckTask[plan.size()];
+        CompletableFuture<?>[] finished = new CompletableFuture<?>[tasks.length];
+        long[] finishedAt = new long[tasks.length];
+        // Momento (epoch ms) de cada resultado; el de un resultado reutilizado es el de su ejecución original
+        long[] completedAt = new long[tasks.length];
+        for (int p = 0; p < tasks.length; p++) {
+            int position = p;
+            int index = plan.indicatorIndex(p);
+            tasks[p] = HealthCheckTask.create(healthIndicators.get(index));
+            if (reuseExpensive && costs[index] == HealthCheckCost.EXPENSIVE) {
+                IndicatorResult last = lastResults.get(index);
+                if (last != null && startTime - last.completedAt() < readinessMaxAgeMs) {
+                    tasks[p].reuse(last.serviceHealth());
+                    completedAt[p] = last.completedAt();
+                }
+            }
+            finished[p] = tasks[p].result().whenComplete((serviceHealth, error) ->
+                    finishedAt[position] = System.currentTimeMillis() - startTime);
+        }
 
-            return convertHealthToServiceHealth(health);
+        // Ningún hilo espera a otro check: los dependientes se lanzan desde la finalización de sus dependencias
+        HealthCheckGraph tierGraph = plan.graph();
+        for (int p = 0; p < tasks.length; p++) {
+            int[] dependencies = tierGraph.dependencies(p);
+            if (dependencies.length == 0) {
+                startTask(plan, tasks, p);
+                continue;
+            }
+            CompletableFuture<?>[] required = new CompletableFuture<?>[dependencies.length];
+            for (int d = 0; d < dependencies.length; d++) {
+                required[d] = finished[dependencies[d]];
+            }
+            int position = p;
+            CompletableFuture.allOf(required).thenRun(() -> startTask(plan, tasks, position));
+        }
+
+        AtomicBoolean partial = new AtomicBoolean();
+        Future<?> deadline = scheduleDeadline(tasks, partial);
+
+        return CompletableFuture.allOf(finished).thenApply(ignored -> {
+            deadline.cancel(false);
+            long now = System.currentTimeMillis();
+            ServiceHealth[] serviceHealths = new ServiceHealth[tasks.length];
+            for (int p = 0; p < tasks.length; p++) {
+                serviceHealths[p] = tasks[p].result().join();
+                if (!tasks[p].isReused()) {
+                    completedAt[p] = startTime + finishedAt[p];
+                    lastResults.accumulateAndGet(plan.indicatorIndex(p),
+                            new IndicatorResult(serviceHealths[p], completedAt[p]), HealthCheckService::newer);
+                }
+            }
+            long totalTime = now - startTime;
+
+            if (refreshEnabled && fullCheck) {
+                mergeIntoSnapshot(plan, serviceHealths, completedAt, totalTime, partial.get());
+            }
+            HealthCheckResponse response = buildResponse(serviceHealths, plan.critical(), totalTime, partial.get());
+            setCriticalPath(response, tierGraph, finishedAt);
+            return response;
+        });
+    }
+
+    /**
+     * Ejecuta los checks de LIVENESS en el hilo del llamador; al ser checks en memoria
+     * no dependen de que el executor tenga capacidad disponible
+     */
+    private HealthCheckResponse runInline(HealthTierPlan plan) {
+        long startTime = System.currentTimeMillis();
+        ServiceHealth[] serviceHealths = new ServiceHealth[plan.size()];
+        for (int p = 0; p < serviceHealths.length; p++) {
+            serviceHealths[p] = HealthCheckTask.create(healthIndicators.get(plan.indicatorIndex(p))).runInline();
+        }
+        return buildResponse(serviceHealths, plan.critical(), System.currentTimeMillis() - startTime, false);
+    }
+
+    /**
+     * Inicia el check o lo omite si alguna de sus dependencias falló
+     */
+    private void startTask(HealthTierPlan plan, HealthCheckTask[] tasks, int position) {
+        HealthCheckGraph tierGraph = plan.graph();
+        for (int dependency : tierGraph.dependencies(position)) {
+            if (HealthCheckTask.blocksDependents(tasks[dependency].result().join())) {
+                tasks[position].skip(tierGraph.key(dependency));
+                return;
+            }
+        }
+        // Si el timeout del indicador no es menor que el global, el corte lo hace el tiempo límite global
+        long indicatorTimeoutMs = indicatorTimeoutsMs[plan.indicatorIndex(position)];
+        long timeoutMs = indicatorTimeoutMs < globalTimeoutMs ? indicatorTimeoutMs : HealthCheckTask.NO_TIMEOUT;
+        tasks[position].start(executors, timeoutMs);
+    }
 
-        } catch (Exception e) {
-            ServiceHealth serviceHealth = new ServiceHealth();
-            serviceHealth.setServiceName(indicator.getClass().getSimpleName());
-            serviceHealth.setStatus(HealthStatus.DOWN);
-            serviceHealth.setMessage("Timeout o error: " + e.getMessage());
-            return serviceHealth;
+    private void setCriticalPath(HealthCheckResponse response, HealthCheckGraph tierGraph, long[] finishedAt) {
+        if (finishedAt.length == 0) {
+            return;
+        }
+        List<Integer> path = tierGraph.criticalPath(finishedAt);
+        List<String> keys = new ArrayList<>(path.size());
+        for (int position : path) {
+            keys.add(tierGraph.key(position));
         }
+        response.setCriticalPath(keys);
+        response.setCriticalPathMs(finishedAt[path.get(path.size() - 1)]);
     }
 
-    private ServiceHealth convertHealthToServiceHealth(Health health) {
-        HealthStatus status = switch (health.getStatus().getCode()) {
-            case "UP" -> HealthStatus.UP;
-            case "DOWN" -> HealthStatus.DOWN;
-            case "OUT_OF_SERVICE" -> HealthStatus.OUT_OF_SERVICE;
-            default -> HealthStatus.UNKNOWN;
+    /**
+     * Programa el corte de los checks pendientes al alcanzar el tiempo límite global
+     */
+    private Future<?> scheduleDeadline(HealthCheckTask[] tasks, AtomicBoolean partial) {
+        Runnable abortPending = () -> {
+            // Se marca antes de cortar: al completar el último check la respuesta se arma en este mismo hilo
+            for (HealthCheckTask task : tasks) {
+                if (!task.result().isDone()) {
+                    partial.set(true);
+                    break;
+                }
+            }
+            for (HealthCheckTask task : tasks) {
+                task.abort(deadlineStatus, "Tiempo límite global alcanzado");
+            }
         };
+        try {
+            return executors.scheduler().schedule(abortPending, globalTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Sin scheduler no es posible esperar el tiempo límite: se cortan los checks pendientes
+            abortPending.run();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void scheduleRefresh(int index, long delayMs) {
+        if (!running) {
+            return;
+        }
+        try {
+            executors.scheduler().schedule(() -> refreshIndicator(index), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            running = false;
+        }
+    }
+
+    /**
+     * Ejecuta un indicador y, al terminar, publica su resultado y programa el siguiente refresco
+     */
+    private void refreshIndicator(int index) {
+        if (!running) {
+            return;
+        }
+        HealthCheckTask task = HealthCheckTask.create(healthIndicators.get(index));
+        String failedDependency = failedDependency(index, snapshot.get());
+        if (failedDependency != null) {
+            task.skip(failedDependency);
+        } else {
+            task.start(executors, indicatorTimeoutsMs[index]);
+        }
+        task.result().thenAccept(serviceHealth -> {
+            lastResults.accumulateAndGet(index, new IndicatorResult(serviceHealth, System.currentTimeMillis()), HealthCheckService::newer);
+            publish(index, serviceHealth);
+            scheduleRefresh(index, refreshIntervalsMs[index]);
+        });
+    }
+
+    /**
+     * Clave de la primera dependencia con un resultado fallido en el snapshot, o null si ninguna falló
+     */
+    private String failedDependency(int index, HealthSnapshot current) {
+        for (int dependency : graph.dependencies(index)) {
+            if (HealthCheckTask.blocksDependents(current.services()[dependency])) {
+                return graph.key(dependency);
+            }
+        }
+        return null;
+    }
 
-        ServiceHealth serviceHealth = new ServiceHealth();
-        serviceHealth.setServiceName((String) health.getDetails().get("serviceName"));
-        serviceHealth.setStatus(status);
-        serviceHealth.setMessage((String) health.getDetails().get("message"));
-        serviceHealth.setUrl((String) health.getDetails().get("url"));
-        serviceHealth.setQuery((String) health.getDetails().get("query"));
-        serviceHealth.setResponseTimeMs((Long) health.getDetails().get("responseTimeMs"));
-        serviceHealth.setDetails(health.getDetails());
-        return serviceHealth;
+    private void publish(int index, ServiceHealth serviceHealth) {
+        long now = System.currentTimeMillis();
+        snapshot.updateAndGet(current -> {
+            ServiceHealth[] services = current.services().clone();
+            long[] refreshedAt = current.refreshedAt().clone();
+            services[index] = serviceHealth;
+            refreshedAt[index] = now;
+            return buildSnapshot(services, refreshedAt, maxResponseTime(services), false);
+        });
     }
 
-    private HealthStatus determineOverallStatus(List<ServiceHealth> serviceHealths) {
-        if (serviceHealths.isEmpty()) {
-            return HealthStatus.UNKNOWN;
+    /**
+     * Incorpora los resultados de una verificación completa al snapshot, indicador por indicador.
+     * Se conserva el resultado más reciente de cada uno, para no descartar un refresco publicado
+     * mientras la verificación estaba en curso
+     * @param completedAt Momento de cada resultado; el de un resultado reutilizado es el de su ejecución original
+     */
+    private void mergeIntoSnapshot(HealthTierPlan plan, ServiceHealth[] serviceHealths, long[] completedAt,
+                                   long totalTime, boolean partial) {
+        snapshot.updateAndGet(current -> {
+            ServiceHealth[] services = current != null ? current.services().clone() : new ServiceHealth[healthIndicators.size()];
+            long[] refreshedAt = current != null ? current.refreshedAt().clone() : new long[services.length];
+            for (int p = 0; p < serviceHealths.length; p++) {
+                int index = plan.indicatorIndex(p);
+                if (services[index] == null || completedAt[p] >= refreshedAt[index]) {
+                    services[index] = serviceHealths[p];
+                    refreshedAt[index] = completedAt[p];
+                }
+            }
+            return buildSnapshot(services, refreshedAt, totalTime, partial);
+        });
+    }
+
+    private static IndicatorResult newer(IndicatorResult previous, IndicatorResult next) {
+        return previous != null && previous.completedAt() > next.completedAt() ? previous : next;
+    }
+
+    private HealthSnapshot buildSnapshot(ServiceHealth[] services, long[] refreshedAt, long totalTime, boolean partial) {
+        long oldestRefreshAt = Long.MAX_VALUE;
+        for (long refreshed : refreshedAt) {
+            oldestRefreshAt = Math.min(oldestRefreshAt, refreshed);
         }
+        HealthCheckResponse response = buildResponse(services, critical, totalTime, partial);
+        return new HealthSnapshot(services, refreshedAt, response, oldestRefreshAt);
+    }
 
-        boolean hasDown = serviceHealths.stream()
-                .anyMatch(s -> s.getStatus() == HealthStatus.DOWN);
+    /**
+     * Lectura del snapshot. Para la verificación completa es O(1): solo se copian los campos de la
+     * respuesta para añadir su antigüedad; para un nivel se toman únicamente sus indicadores.
+     */
+    private HealthCheckResponse readSnapshot(HealthSnapshot current, HealthTierPlan plan) {
+        HealthCheckResponse cached = current.response();
+        long oldestRefreshAt = current.oldestRefreshAt();
+        HealthCheckResponse response;
 
-        if (hasDown) {
-            return HealthStatus.DOWN;
+        if (plan.size() == current.services().length) {
+            response = new HealthCheckResponse();
+            response.setApplicationName(cached.getApplicationName());
+            response.setVersion(cached.getVersion());
+            response.setEnvironment(cached.getEnvironment());
+            response.setOverallStatus(cached.getOverallStatus());
+            response.setServices(cached.getServices());
+            response.setTimestamp(cached.getTimestamp());
+            response.setTotalResponseTimeMs(cached.getTotalResponseTimeMs());
+            response.setPartial(cached.isPartial());
+        } else {
+            ServiceHealth[] services = new ServiceHealth[plan.size()];
+            oldestRefreshAt = Long.MAX_VALUE;
+            for (int p = 0; p < services.length; p++) {
+                int index = plan.indicatorIndex(p);
+                services[p] = current.services()[index];
+                oldestRefreshAt = Math.min(oldestRefreshAt, current.refreshedAt()[index]);
+            }
+            if (services.length == 0) {
+                oldestRefreshAt = current.oldestRefreshAt();
+            }
+            response = buildResponse(services, plan.critical(), maxResponseTime(services), cached.isPartial());
+            response.setTimestamp(cached.getTimestamp());
         }
 
-        boolean allUp = serviceHealths.stream()
-                .allMatch(s -> s.getStatus() == HealthStatus.UP);
+        long ageMs = Math.max(0, System.currentTimeMillis() - oldestRefreshAt);
+        response.setSnapshotAgeMs(ageMs);
+        response.setStale(ageMs > staleAfterMs);
+        return response;
+    }
+
+    private HealthCheckResponse buildResponse(ServiceHealth[] serviceHealths, boolean[] criticalServices, long totalTime, boolean partial) {
+        HealthCheckResponse response = new HealthCheckResponse();
+        response.setApplicationName(applicationName);
+        response.setVersion(applicationVersion);
+        response.setEnvironment(environment);
+        response.setOverallStatus(aggregator.aggregate(serviceHealths, criticalServices));
+        response.setServices(List.of(serviceHealths));
+        response.setTotalResponseTimeMs(totalTime);
+        response.setPartial(partial);
+        return response;
+    }
+
+    private long maxResponseTime(ServiceHealth[] services) {
+        long max = 0;
+        for (ServiceHealth service : services) {
+            if (service.getResponseTimeMs() != null) {
+                max = Math.max(max, service.getResponseTimeMs());
+            }
+        }
+        return max;
+    }
 
-        return allUp ? HealthStatus.UP : HealthStatus.UNKNOWN;
+    private record IndicatorResult(ServiceHealth serviceHealth, long completedAt) {
     }
-}
\ No newline at end of file
+}
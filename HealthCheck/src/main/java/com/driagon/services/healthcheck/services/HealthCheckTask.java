@@ -0,0 +1,162 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.configurations.HealthCheckExecutors;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecución de un indicador en el executor dedicado.
+ * El resultado se completa al terminar el check o al vencer su timeout; en ese caso
+ * la ejecución se cancela con interrupción para no retener el hilo.
+ */
+final class HealthCheckTask {
+
+    static final long NO_TIMEOUT = -1L;
+
+    private final BaseHealthIndicator indicator;
+    private final CompletableFuture<ServiceHealth> result = new CompletableFuture<>();
+    private volatile Future<?> execution;
+    private volatile long startedAt;
+    private volatile Thread worker;
+    private volatile boolean reused;
+
+    private HealthCheckTask(BaseHealthIndicator indicator) {
+        this.indicator = indicator;
+    }
+
+    /**
+     * Crea el check sin enviarlo; puede abortarse antes de iniciar
+     */
+    static HealthCheckTask create(BaseHealthIndicator indicator) {
+        return new HealthCheckTask(indicator);
+    }
+
+    /**
+     * Crea el check y lo inicia de inmediato
+     * @see #start(HealthCheckExecutors, long)
+     */
+    static HealthCheckTask start(BaseHealthIndicator indicator, HealthCheckExecutors executors, long timeoutMs) {
+        HealthCheckTask task = new HealthCheckTask(indicator);
+        task.start(executors, timeoutMs);
+        return task;
+    }
+
+    /**
+     * Envía el check al executor y programa su timeout en el scheduler, sin bloquear al llamador.
+     * Si el check ya fue abortado no se envía.
+     * @param timeoutMs Tiempo límite del check o {@link #NO_TIMEOUT} si lo controla el llamador
+     */
+    void start(HealthCheckExecutors executors, long timeoutMs) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            execution = executors.executor().submit(this::execute);
+            if (result.isDone()) {
+                // Abortado mientras se enviaba
+                execution.cancel(true);
+                return;
+            }
+            if (timeoutMs != NO_TIMEOUT) {
+                ScheduledFuture<?> timeout = executors.scheduler().schedule(
+                        () -> abort(HealthStatus.DOWN, "Timeout: el health check excedió su tiempo límite"),
+                        timeoutMs,
+                        TimeUnit.MILLISECONDS
+                );
+                result.whenComplete((serviceHealth, error) -> timeout.cancel(false));
+            }
+        } catch (RejectedExecutionException e) {
+            abort(HealthStatus.DOWN, "Health check rechazado: executor saturado");
+        }
+    }
+
+    /**
+     * Completa el check sin ejecutarlo porque una de sus dependencias falló
+     */
+    void skip(String dependencyKey) {
+        ServiceHealth skipped = errorServiceHealth(indicator, HealthStatus.UNKNOWN, "Omitido: falló la dependencia " + dependencyKey);
+        skipped.setDetails(Map.of("skippedBecause", dependencyKey));
+        result.complete(skipped);
+    }
+
+    /**
+     * Completa el check con un resultado previo sin ejecutarlo
+     */
+    void reuse(ServiceHealth serviceHealth) {
+        reused = result.complete(serviceHealth);
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    /**
+     * Ejecuta el check en el hilo del llamador, sin timeout
+     */
+    ServiceHealth runInline() {
+        execute();
+        return result.join();
+    }
+
+    BaseHealthIndicator indicator() {
+        return indicator;
+    }
+
+    CompletableFuture<ServiceHealth> result() {
+        return result;
+    }
+
+    /**
+     * Completa el check con el estado indicado y cancela la ejecución si aún sigue en curso
+     * @return true si el check no había terminado todavía
+     */
+    boolean abort(HealthStatus status, String message) {
+        boolean aborted = result.complete(errorServiceHealth(indicator, status, message));
+        Future<?> current = execution;
+        if (aborted && current != null) {
+            long started = startedAt;
+            if (started != 0L) {
+                // El check ya estaba en curso: cuenta en el historial como fallo con el tiempo transcurrido
+                indicator.recordTimeout(System.currentTimeMillis() - started, worker);
+            }
+            current.cancel(true);
+        }
+        return aborted;
+    }
+
+    private void execute() {
+        worker = Thread.currentThread();
+        startedAt = System.currentTimeMillis();
+        try {
+            result.complete(indicator.check());
+        } catch (Throwable e) {
+            result.complete(errorServiceHealth(indicator, HealthStatus.DOWN, "Timeout o error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Indica si el resultado impide ejecutar a los indicadores que dependen de este
+     */
+    static boolean blocksDependents(ServiceHealth serviceHealth) {
+        HealthStatus status = serviceHealth.getStatus();
+        return status == HealthStatus.DOWN
+                || status == HealthStatus.OUT_OF_SERVICE
+                || (serviceHealth.getDetails() != null && serviceHealth.getDetails().containsKey("skippedBecause"));
+    }
+
+    static ServiceHealth errorServiceHealth(BaseHealthIndicator indicator, HealthStatus status, String message) {
+        ServiceHealth serviceHealth = new ServiceHealth();
+        serviceHealth.setServiceName(indicator.getClass().getSimpleName());
+        serviceHealth.setStatus(status);
+        serviceHealth.setMessage(message);
+        return serviceHealth;
+    }
+}
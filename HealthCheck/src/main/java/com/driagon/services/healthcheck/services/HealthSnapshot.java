@@ -0,0 +1,18 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.models.HealthCheckResponse;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+
+/**
+ * Resultado inmutable de los health checks refrescados en segundo plano.
+ * Se reemplaza de forma atómica cada vez que termina un refresco o una verificación completa,
+ * conservando el resultado más reciente de cada indicador, por lo que las lecturas solo
+ * devuelven la respuesta ya construida.
+ *
+ * @param services Último resultado de cada indicador, en el mismo orden que los indicadores
+ * @param refreshedAt Momento (epoch ms) del último refresco de cada indicador
+ * @param response Respuesta consolidada precalculada para los servicios
+ * @param oldestRefreshAt Momento del refresco más antiguo entre todos los indicadores
+ */
+record HealthSnapshot(ServiceHealth[] services, long[] refreshedAt, HealthCheckResponse response, long oldestRefreshAt) {
+}
@@ -0,0 +1,66 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+
+/**
+ * Calcula el estado general en una sola pasada y sin crear objetos.
+ * Gravedad de menor a mayor: UP, DEGRADED, UNKNOWN, OUT_OF_SERVICE y DOWN, cada uno con su propio rango.
+ * Un DOWN de un indicador no crítico cuenta como el estado configurado, DEGRADED por defecto.
+ */
+public final class HealthStatusAggregator {
+
+    private static final HealthStatus[] BY_SEVERITY = {
+            HealthStatus.UP, HealthStatus.DEGRADED, HealthStatus.UNKNOWN, HealthStatus.OUT_OF_SERVICE, HealthStatus.DOWN
+    };
+    private static final int UNKNOWN_SEVERITY = 2;
+    private static final int DOWN_SEVERITY = BY_SEVERITY.length - 1;
+
+    private final int nonCriticalDownSeverity;
+
+    /**
+     * @param nonCriticalDownStatus Estado con el que cuenta el DOWN de un indicador no crítico
+     */
+    public HealthStatusAggregator(HealthStatus nonCriticalDownStatus) {
+        this.nonCriticalDownSeverity = severity(nonCriticalDownStatus);
+    }
+
+    /**
+     * @param services Resultados de los indicadores
+     * @param critical Si cada indicador, en la misma posición, es crítico
+     * @return Estado general; UNKNOWN si no hay resultados
+     */
+    public HealthStatus aggregate(ServiceHealth[] services, boolean[] critical) {
+        if (services.length == 0) {
+            return HealthStatus.UNKNOWN;
+        }
+
+        int worst = 0;
+        for (int i = 0; i < services.length; i++) {
+            int severity = severity(services[i].getStatus());
+            if (severity == DOWN_SEVERITY && !critical[i]) {
+                severity = nonCriticalDownSeverity;
+            }
+            if (severity > worst) {
+                worst = severity;
+                if (worst == DOWN_SEVERITY) {
+                    break;
+                }
+            }
+        }
+        return BY_SEVERITY[worst];
+    }
+
+    private static int severity(HealthStatus status) {
+        if (status == null) {
+            return UNKNOWN_SEVERITY;
+        }
+        return switch (status) {
+            case UP -> 0;
+            case DEGRADED -> 1;
+            case UNKNOWN -> UNKNOWN_SEVERITY;
+            case OUT_OF_SERVICE -> 3;
+            case DOWN -> DOWN_SEVERITY;
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.constants.HealthTier;
+import com.driagon.services.healthcheck.models.HealthCheckResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Indicadores de un nivel, precalculados al arrancar, junto con su grafo de dependencias
+ * y el estado de coalescencia propio del nivel
+ */
+final class HealthTierPlan {
+
+    private final HealthTier tier;
+    private final int[] indices;
+    private final boolean[] critical;
+    private final HealthCheckGraph graph;
+    private final AtomicReference<CompletableFuture<HealthCheckResponse>> inFlight = new AtomicReference<>();
+    private volatile CompletedHealthCheck lastCompleted;
+
+    HealthTierPlan(HealthTier tier, int[] indices, boolean[] critical, HealthCheckGraph graph) {
+        this.tier = tier;
+        this.indices = indices;
+        this.critical = critical;
+        this.graph = graph;
+    }
+
+    HealthTier tier() {
+        return tier;
+    }
+
+    /**
+     * Índice en la lista del servicio del indicador en la posición indicada del nivel
+     */
+    int indicatorIndex(int position) {
+        return indices[position];
+    }
+
+    /**
+     * Si cada indicador del nivel, por posición, es crítico para el estado general
+     */
+    boolean[] critical() {
+        return critical;
+    }
+
+    int size() {
+        return indices.length;
+    }
+
+    HealthCheckGraph graph() {
+        return graph;
+    }
+
+    AtomicReference<CompletableFuture<HealthCheckResponse>> inFlight() {
+        return inFlight;
+    }
+
+    CompletedHealthCheck lastCompleted() {
+        return lastCompleted;
+    }
+
+    void lastCompleted(CompletedHealthCheck completed) {
+        this.lastCompleted = completed;
+    }
+
+    record CompletedHealthCheck(HealthCheckResponse response, long completedAt) {
+    }
+}
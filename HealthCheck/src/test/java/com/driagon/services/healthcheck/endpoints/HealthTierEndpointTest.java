@@ -0,0 +1,112 @@
+package com.driagon.services.healthcheck.endpoints;
+
+import com.driagon.services.healthcheck.configurations.HealthCheckExecutors;
+import com.driagon.services.healthcheck.constants.HealthCheckCost;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.constants.HealthTier;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.models.HealthCheckResponse;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import com.driagon.services.healthcheck.services.HealthCheckService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Status HTTP de {@link HealthTierEndpoint}: 503 para DOWN y OUT_OF_SERVICE, 200 para el resto.
+ */
+class HealthTierEndpointTest {
+
+    private HealthCheckExecutors executors;
+
+    @BeforeEach
+    void setUp() {
+        executors = new HealthCheckExecutors(Executors.newFixedThreadPool(2), Executors.newSingleThreadScheduledExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executors.close();
+    }
+
+    @Test
+    void unavailableWhenDownOrOutOfService() {
+        for (HealthStatus status : new HealthStatus[]{HealthStatus.DOWN, HealthStatus.OUT_OF_SERVICE}) {
+            for (String tier : new String[]{"liveness", "readiness", "deep"}) {
+                WebEndpointResponse<HealthCheckResponse> response = endpoint(status).tier(tier);
+
+                assertEquals(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE, response.getStatus(), status + " en " + tier);
+                assertEquals(status, response.getBody().getOverallStatus());
+            }
+        }
+    }
+
+    @Test
+    void okForTheOtherStatuses() {
+        for (HealthStatus status : new HealthStatus[]{HealthStatus.UP, HealthStatus.DEGRADED, HealthStatus.UNKNOWN}) {
+            WebEndpointResponse<HealthCheckResponse> response = endpoint(status).tier("readiness");
+
+            assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus(), status.toString());
+            assertEquals(status, response.getBody().getOverallStatus());
+        }
+    }
+
+    @Test
+    void badRequestForAnUnknownTier() {
+        WebEndpointResponse<HealthCheckResponse> response = endpoint(HealthStatus.UP).tier("startup");
+
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, response.getStatus());
+        assertNull(response.getBody());
+    }
+
+    private HealthTierEndpoint endpoint(HealthStatus status) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService(ApplicationConversionService.getSharedInstance());
+        environment.setProperty("health-check.timeout", "10s");
+        return new HealthTierEndpoint(new HealthCheckService(List.of(new FixedHealthIndicator(status)), executors, environment));
+    }
+
+    /**
+     * Indicador LIVENESS que siempre devuelve el estado indicado
+     */
+    static class FixedHealthIndicator extends BaseHealthIndicator {
+
+        private final HealthStatus status;
+
+        FixedHealthIndicator(HealthStatus status) {
+            this.status = status;
+        }
+
+        @Override
+        protected ServiceHealth doHealthCheck() {
+            ServiceHealth serviceHealth = new ServiceHealth();
+            serviceHealth.setServiceName(getServiceName());
+            serviceHealth.setStatus(status);
+            return serviceHealth;
+        }
+
+        @Override
+        protected String getServiceName() {
+            return "fixed";
+        }
+
+        @Override
+        public HealthTier getTier() {
+            return HealthTier.LIVENESS;
+        }
+
+        @Override
+        public HealthCheckCost getCost() {
+            return HealthCheckCost.CHEAP;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.driagon.services.healthcheck.indicators;
+
+import com.driagon.services.healthcheck.constants.CircuitBreakerState;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resultados del circuito abierto, cada uno en su propia instancia, y checks de prueba abortados o colgados.
+ */
+class CircuitBreakerTest {
+
+    @Test
+    void rejectedCallersDoNotShareTheOpenResult() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 60_000L, 60_000L, 2.0, 60_000L, (previous, state, at) -> { });
+        breaker.onResult(failure());
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+
+        ServiceHealth first = breaker.tryAcquire();
+        ServiceHealth second = breaker.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotSame(first, second);
+        assertNotSame(first.getDetails(), second.getDetails());
+
+        first.setStatus(HealthStatus.UP);
+        first.setMessage("modificado");
+        first.getDetails().put("circuitBreaker", "modificado");
+
+        ServiceHealth third = breaker.tryAcquire();
+        assertEquals(HealthStatus.DOWN, third.getStatus());
+        assertEquals("Error: conexión rechazada", third.getMessage());
+        assertEquals(CircuitBreakerState.OPEN.getValue(), third.getDetails().get("circuitBreaker"));
+        assertEquals(3L, breaker.getRejectedChecks());
+    }
+
+    @Test
+    void closedCircuitLetsChecksRun() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60_000L, 60_000L, 2.0, 60_000L, (previous, state, at) -> { });
+        breaker.onResult(failure());
+        assertNull(breaker.tryAcquire());
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void abortedTrialReopensWithALongerBackoff() throws InterruptedException {
+        List<CircuitBreakerState> transitions = new ArrayList<>();
+        CircuitBreaker breaker = new CircuitBreaker(1, 20L, 60_000L, 10.0, 60_000L,
+                (previous, state, at) -> transitions.add(state));
+        breaker.onResult(failure());
+        Thread.sleep(30L);
+        assertNull(breaker.tryAcquire());
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+
+        // Abortar un check que no es la prueba no cambia el circuito
+        breaker.onAborted(new Thread(() -> { }));
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+
+        long abortedAt = System.currentTimeMillis();
+        breaker.onAborted(Thread.currentThread());
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertTrue(breaker.getNextAttemptAt() - abortedAt >= 150L, "backoff: " + (breaker.getNextAttemptAt() - abortedAt));
+        assertEquals(List.of(CircuitBreakerState.OPEN, CircuitBreakerState.HALF_OPEN, CircuitBreakerState.OPEN), transitions);
+
+        // El resultado tardío de la prueba abandonada se descarta
+        breaker.onResult(success());
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        ServiceHealth rejected = breaker.tryAcquire();
+        assertNotNull(rejected);
+        assertEquals(HealthStatus.DOWN, rejected.getStatus());
+        assertEquals("db", rejected.getServiceName());
+    }
+
+    @Test
+    void hungTrialReopensWhenItsDeadlineExpires() throws InterruptedException {
+        List<CircuitBreakerState> transitions = new ArrayList<>();
+        CircuitBreaker breaker = new CircuitBreaker(1, 1L, 60_000L, 2.0, 20L,
+                (previous, state, at) -> transitions.add(state));
+        breaker.onResult(failure());
+        Thread.sleep(5L);
+        assertNull(breaker.tryAcquire());
+
+        assertNotNull(breaker.tryAcquire());
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+
+        Thread.sleep(30L);
+        ServiceHealth rejected = breaker.tryAcquire();
+        assertNotNull(rejected);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertTrue(rejected.getMessage().startsWith("Timeout"), rejected.getMessage());
+        assertEquals(List.of(CircuitBreakerState.OPEN, CircuitBreakerState.HALF_OPEN, CircuitBreakerState.OPEN), transitions);
+    }
+
+    private static ServiceHealth success() {
+        ServiceHealth success = new ServiceHealth();
+        success.setServiceName("db");
+        success.setStatus(HealthStatus.UP);
+        return success;
+    }
+
+    private static ServiceHealth failure() {
+        ServiceHealth failure = new ServiceHealth();
+        failure.setServiceName("db");
+        failure.setStatus(HealthStatus.DOWN);
+        failure.setMessage("Error: conexión rechazada");
+        Map<String, Object> details = new HashMap<>();
+        details.put("error", "ConnectException");
+        failure.setDetails(details);
+        return failure;
+    }
+}
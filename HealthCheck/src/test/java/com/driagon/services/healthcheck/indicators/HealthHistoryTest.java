@@ -0,0 +1,49 @@
+package com.driagon.services.healthcheck.indicators;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Estadísticas de la ventana del historial.
+ */
+class HealthHistoryTest {
+
+    @Test
+    void emptyHistoryHasNoSamples() {
+        assertEquals(HealthHistory.Stats.EMPTY, new HealthHistory(10, 0L).stats());
+    }
+
+    @Test
+    void computesNearestRankPercentilesAndErrorRate() {
+        HealthHistory history = new HealthHistory(100, 0L);
+        for (long latency = 1; latency <= 100; latency++) {
+            history.record(latency, latency % 10 == 0);
+        }
+
+        HealthHistory.Stats stats = history.stats();
+
+        assertEquals(100, stats.samples());
+        assertEquals(50L, stats.p50Ms());
+        assertEquals(95L, stats.p95Ms());
+        assertEquals(99L, stats.p99Ms());
+        assertEquals(100L, stats.maxMs());
+        assertEquals(0.1, stats.errorRate());
+    }
+
+    @Test
+    void keepsOnlyTheLastCapacityResults() {
+        HealthHistory history = new HealthHistory(4, 0L);
+        for (long latency = 1; latency <= 10; latency++) {
+            history.record(latency, false);
+        }
+
+        HealthHistory.Stats stats = history.stats();
+
+        assertEquals(4, stats.samples());
+        assertEquals(8L, stats.p50Ms());
+        assertEquals(10L, stats.maxMs());
+        // Las estadísticas se recalculan sobre el mismo buffer de trabajo
+        assertEquals(stats, history.stats());
+    }
+}
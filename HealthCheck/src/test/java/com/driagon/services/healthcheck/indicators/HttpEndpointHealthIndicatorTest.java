@@ -0,0 +1,95 @@
+package com.driagon.services.healthcheck.indicators;
+
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HttpEndpointHealthIndicator} contra un servidor HTTP local.
+ */
+class HttpEndpointHealthIndicatorTest {
+
+    private HttpServer server;
+    private final AtomicInteger statusCode = new AtomicInteger(200);
+    private final AtomicReference<String> lastMethod = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/health", exchange -> {
+            lastMethod.set(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(statusCode.get(), -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void reportsUpWithAHeadRequest() {
+        ServiceHealth result = indicator("/health").check();
+
+        assertEquals(HealthStatus.UP, result.getStatus());
+        assertEquals("HEAD", lastMethod.get());
+        assertEquals(200, result.getDetails().get("statusCode"));
+    }
+
+    @Test
+    void reportsDownOnErrorStatus() {
+        statusCode.set(503);
+
+        ServiceHealth result = indicator("/health").check();
+
+        assertEquals(HealthStatus.DOWN, result.getStatus());
+        assertEquals(503, result.getDetails().get("statusCode"));
+    }
+
+    @Test
+    void reportsDownWhenTheServerIsUnreachable() {
+        HttpEndpointHealthIndicator indicator = indicator("/health");
+        server.stop(0);
+
+        ServiceHealth result = indicator.check();
+
+        assertEquals(HealthStatus.DOWN, result.getStatus());
+        assertTrue(result.getMessage().startsWith("Error de conexión"));
+    }
+
+    @Test
+    void recordsFailuresInTheHistory() {
+        HttpEndpointHealthIndicator indicator = indicator("/health");
+        indicator.check();
+        statusCode.set(500);
+        indicator.check();
+
+        HealthHistory.Stats stats = indicator.getHistoryStats();
+
+        assertEquals(2, stats.samples());
+        assertEquals(0.5, stats.errorRate());
+    }
+
+    private HttpEndpointHealthIndicator indicator(String path) {
+        String url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+        HttpEndpointHealthIndicator indicator = new HttpEndpointHealthIndicator(url, "HEAD", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(indicator, "description", "Endpoint local");
+        return indicator;
+    }
+}
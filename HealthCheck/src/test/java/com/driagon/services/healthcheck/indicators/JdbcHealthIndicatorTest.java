@@ -0,0 +1,85 @@
+package com.driagon.services.healthcheck.indicators;
+
+import com.driagon.services.healthcheck.constants.HealthCheckCost;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link JdbcHealthIndicator} contra una base H2 en memoria.
+ */
+class JdbcHealthIndicatorTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:health;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+    }
+
+    @Test
+    void validatesWithIsValidByDefault() {
+        JdbcHealthIndicator indicator = indicator("");
+
+        ServiceHealth result = indicator.check();
+
+        assertEquals(HealthStatus.UP, result.getStatus());
+        assertEquals("isValid", result.getDetails().get("validation"));
+        assertEquals("H2", result.getServiceName());
+        assertEquals(HealthCheckCost.MODERATE, indicator.getCost());
+    }
+
+    @Test
+    void runsTheConfiguredQuery() {
+        JdbcHealthIndicator indicator = indicator("SELECT 1");
+
+        ServiceHealth result = indicator.check();
+
+        assertEquals(HealthStatus.UP, result.getStatus());
+        assertEquals("query", result.getDetails().get("validation"));
+        assertEquals("SELECT 1", result.getQuery());
+        assertEquals(HealthCheckCost.EXPENSIVE, indicator.getCost());
+    }
+
+    @Test
+    void reportsDownWhenTheQueryFails() {
+        ServiceHealth result = indicator("SELECT * FROM tabla_inexistente").check();
+
+        assertEquals(HealthStatus.DOWN, result.getStatus());
+        assertTrue(result.getMessage().startsWith("Error de base de datos"));
+    }
+
+    @Test
+    void recordsLatencyHistory() {
+        JdbcHealthIndicator indicator = indicator("");
+        for (int i = 0; i < 5; i++) {
+            indicator.check();
+        }
+
+        ServiceHealth result = indicator.check();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> history = (Map<String, Object>) result.getDetails().get("history");
+        assertEquals(6, history.get("samples"));
+        assertTrue(history.containsKey("p50Ms"));
+        assertTrue(history.containsKey("p99Ms"));
+        assertEquals(0.0, history.get("errorRate"));
+    }
+
+    private JdbcHealthIndicator indicator(String query) {
+        JdbcHealthIndicator indicator = new JdbcHealthIndicator(dataSource, query, Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(indicator, "description", "H2");
+        return indicator;
+    }
+}
@@ -0,0 +1,83 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Validaciones de {@link HealthCheckGraph} al arrancar: claves únicas y dependencias sin ciclos.
+ */
+class HealthCheckGraphTest {
+
+    @Test
+    void resolvesDependenciesByKey() {
+        HealthCheckGraph graph = HealthCheckGraph.build(List.of(
+                new KeyedHealthIndicator("db"), new KeyedHealthIndicator("api", "db", "cache")));
+
+        assertArrayEquals(new int[0], graph.dependencies(0));
+        // La dependencia inexistente se ignora
+        assertArrayEquals(new int[]{0}, graph.dependencies(1));
+        assertTrue(graph.hasDependencies());
+    }
+
+    @Test
+    void rejectsDuplicateKeys() {
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> HealthCheckGraph.build(List.of(
+                new KeyedHealthIndicator("db"), new KeyedHealthIndicator("api"), new KeyedHealthIndicator("db"))));
+
+        assertTrue(error.getMessage().contains("'db'"), error.getMessage());
+    }
+
+    @Test
+    void rejectsCycles() {
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> HealthCheckGraph.build(List.of(
+                new KeyedHealthIndicator("a", "b"), new KeyedHealthIndicator("b", "a"))));
+
+        assertEquals("Dependencias circulares entre los health checks: [a, b]", error.getMessage());
+    }
+
+    /**
+     * Indicador con clave y dependencias fijas
+     */
+    static class KeyedHealthIndicator extends BaseHealthIndicator {
+
+        private final String key;
+        private final List<String> dependencies;
+
+        KeyedHealthIndicator(String key, String... dependencies) {
+            this.key = key;
+            this.dependencies = List.of(dependencies);
+        }
+
+        @Override
+        protected ServiceHealth doHealthCheck() {
+            ServiceHealth serviceHealth = new ServiceHealth();
+            serviceHealth.setServiceName(getServiceName());
+            serviceHealth.setStatus(HealthStatus.UP);
+            return serviceHealth;
+        }
+
+        @Override
+        protected String getServiceName() {
+            return key;
+        }
+
+        @Override
+        public String getIndicatorKey() {
+            return key;
+        }
+
+        @Override
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+    }
+}
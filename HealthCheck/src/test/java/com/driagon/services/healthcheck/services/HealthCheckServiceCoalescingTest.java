@@ -0,0 +1,149 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.configurations.HealthCheckExecutors;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.models.HealthCheckResponse;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Single-flight de {@link HealthCheckService}: sin importar cuántos llamadores concurrentes haya,
+ * cada verificación en curso ejecuta el indicador una sola vez.
+ */
+class HealthCheckServiceCoalescingTest {
+
+    private static final int ROUNDS = 5;
+
+    private HealthCheckExecutors executors;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        executors = new HealthCheckExecutors(Executors.newFixedThreadPool(4), Executors.newSingleThreadScheduledExecutor());
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        executors.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 256})
+    void concurrentCallersShareOneIndicatorInvocation(int callerCount) throws Exception {
+        BlockingHealthIndicator indicator = new BlockingHealthIndicator();
+        HealthCheckService service = new HealthCheckService(List.of(indicator), executors, environment());
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch joined = new CountDownLatch(callerCount);
+            List<CompletableFuture<HealthCheckResponse>> responses = new ArrayList<>(callerCount);
+            List<CompletableFuture<Void>> submitted = new ArrayList<>(callerCount);
+            for (int c = 0; c < callerCount; c++) {
+                CompletableFuture<HealthCheckResponse> response = new CompletableFuture<>();
+                responses.add(response);
+                submitted.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    service.performHealthCheckAsync(false).whenComplete((value, error) -> {
+                        if (error != null) {
+                            response.completeExceptionally(error);
+                        } else {
+                            response.complete(value);
+                        }
+                    });
+                    joined.countDown();
+                }, callers));
+            }
+
+            // Todos los llamadores se unen mientras el indicador sigue bloqueado en la primera ejecución
+            start.countDown();
+            assertTrue(joined.await(10, TimeUnit.SECONDS), "los llamadores no alcanzaron a unirse");
+            indicator.release();
+
+            HealthCheckResponse first = responses.get(0).get(10, TimeUnit.SECONDS);
+            for (CompletableFuture<HealthCheckResponse> response : responses) {
+                assertSame(first, response.get(10, TimeUnit.SECONDS));
+            }
+            CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            assertEquals(HealthStatus.UP, first.getOverallStatus());
+            assertEquals(round, indicator.invocations(), "invocaciones del indicador tras la ronda " + round);
+        }
+    }
+
+    private static MockEnvironment environment() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService(ApplicationConversionService.getSharedInstance());
+        environment.setProperty("health-check.timeout", "10s");
+        return environment;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Indicador que cuenta sus ejecuciones y se bloquea hasta que el test lo libera
+     */
+    static class BlockingHealthIndicator extends BaseHealthIndicator {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+        private final Semaphore permits = new Semaphore(0);
+
+        @Override
+        protected ServiceHealth doHealthCheck() {
+            invocations.incrementAndGet();
+            try {
+                permits.tryAcquire(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ServiceHealth serviceHealth = new ServiceHealth();
+            serviceHealth.setServiceName(getServiceName());
+            serviceHealth.setStatus(HealthStatus.UP);
+            return serviceHealth;
+        }
+
+        @Override
+        protected String getServiceName() {
+            return "blocking";
+        }
+
+        /**
+         * Permite terminar a una ejecución, aunque todavía no haya empezado
+         */
+        void release() {
+            permits.release();
+        }
+
+        int invocations() {
+            return invocations.get();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.configurations.HealthCheckExecutors;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.models.HealthCheckResponse;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Una verificación completa forzada se incorpora al snapshot indicador por indicador,
+ * sin descartar los refrescos publicados mientras estaba en curso.
+ */
+class HealthCheckServiceSnapshotTest {
+
+    private HealthCheckExecutors executors;
+    private HealthCheckService service;
+
+    @BeforeEach
+    void setUp() {
+        executors = new HealthCheckExecutors(Executors.newFixedThreadPool(4), Executors.newSingleThreadScheduledExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stopBackgroundRefresh();
+        }
+        executors.close();
+    }
+
+    @Test
+    void forcedCheckKeepsNewerRefreshes() throws Exception {
+        CountingHealthIndicator counting = new CountingHealthIndicator();
+        GatedHealthIndicator gated = new GatedHealthIndicator();
+        service = new HealthCheckService(List.of(counting, gated), executors, environment());
+        service.startBackgroundRefresh();
+
+        CompletableFuture<HealthCheckResponse> forced = service.performHealthCheckAsync(true);
+        // El indicador rápido se sigue refrescando mientras el lento retiene la verificación forzada
+        long waitUntil = System.currentTimeMillis() + 5_000L;
+        while (counting.invocations() < 5 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10L);
+        }
+        assertTrue(counting.invocations() >= 5, "refrescos: " + counting.invocations());
+        gated.open();
+        int forcedCall = call(forced.get(10, TimeUnit.SECONDS).getServices().get(0));
+
+        ServiceHealth cached = service.performHealthCheck(false).getServices().get(0);
+        assertTrue(call(cached) > forcedCall, "snapshot con la llamada " + call(cached) + ", forzada " + forcedCall);
+        assertEquals(HealthStatus.UP, service.performHealthCheck(false).getServices().get(1).getStatus());
+    }
+
+    private static int call(ServiceHealth serviceHealth) {
+        return Integer.parseInt(serviceHealth.getMessage());
+    }
+
+    private static MockEnvironment environment() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService(ApplicationConversionService.getSharedInstance());
+        environment.setProperty("health-check.timeout", "10s");
+        environment.setProperty("health-check.refresh.enabled", "true");
+        environment.setProperty("health-check.counting.refresh-interval", "20ms");
+        environment.setProperty("health-check.gated.refresh-interval", "1h");
+        return environment;
+    }
+
+    private static ServiceHealth up(String serviceName, String message) {
+        ServiceHealth serviceHealth = new ServiceHealth();
+        serviceHealth.setServiceName(serviceName);
+        serviceHealth.setStatus(HealthStatus.UP);
+        serviceHealth.setMessage(message);
+        return serviceHealth;
+    }
+
+    /**
+     * Indicador inmediato que informa en su mensaje el número de llamada
+     */
+    static class CountingHealthIndicator extends BaseHealthIndicator {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        @Override
+        protected ServiceHealth doHealthCheck() {
+            return up(getServiceName(), Integer.toString(invocations.incrementAndGet()));
+        }
+
+        @Override
+        protected String getServiceName() {
+            return "counting";
+        }
+
+        int invocations() {
+            return invocations.get();
+        }
+    }
+
+    /**
+     * Indicador que se bloquea hasta que el test lo habilita
+     */
+    static class GatedHealthIndicator extends BaseHealthIndicator {
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        protected ServiceHealth doHealthCheck() {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return up(getServiceName(), "ok");
+        }
+
+        @Override
+        protected String getServiceName() {
+            return "gated";
+        }
+
+        void open() {
+            gate.countDown();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.configurations.HealthCheckExecutors;
+import com.driagon.services.healthcheck.constants.HealthCheckCost;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.constants.HealthTier;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.models.HealthCheckResponse;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Niveles de {@link HealthCheckService}: cada plan incluye a los niveles anteriores y LIVENESS
+ * se evalúa en el hilo del llamador.
+ */
+class HealthCheckServiceTierTest {
+
+    private HealthCheckExecutors executors;
+
+    @BeforeEach
+    void setUp() {
+        executors = new HealthCheckExecutors(Executors.newFixedThreadPool(2), Executors.newSingleThreadScheduledExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executors.close();
+    }
+
+    @Test
+    void tierPlansAreCumulative() {
+        HealthCheckService service = new HealthCheckService(List.of(
+                new TieredHealthIndicator("deep", HealthTier.DEEP, HealthCheckCost.EXPENSIVE),
+                new TieredHealthIndicator("live", HealthTier.LIVENESS, HealthCheckCost.CHEAP),
+                new TieredHealthIndicator("ready", HealthTier.READINESS, HealthCheckCost.MODERATE)
+        ), executors, environment());
+
+        assertEquals(List.of("live"), serviceNames(service.performHealthCheck(HealthTier.LIVENESS)));
+        assertEquals(List.of("live", "ready"), serviceNames(service.performHealthCheck(HealthTier.READINESS)));
+        assertEquals(List.of("deep", "live", "ready"), serviceNames(service.performHealthCheck(HealthTier.DEEP)));
+    }
+
+    @Test
+    void livenessOnlyAdmitsCheapChecks() {
+        HealthCheckService service = new HealthCheckService(List.of(
+                new TieredHealthIndicator("live", HealthTier.LIVENESS, HealthCheckCost.CHEAP),
+                new TieredHealthIndicator("costly", HealthTier.LIVENESS, HealthCheckCost.MODERATE)
+        ), executors, environment());
+
+        assertEquals(List.of("live"), serviceNames(service.performHealthCheck(HealthTier.LIVENESS)));
+        assertEquals(List.of("live", "costly"), serviceNames(service.performHealthCheck(HealthTier.READINESS)));
+    }
+
+    @Test
+    void livenessRunsInlineWithoutTheExecutor() {
+        TieredHealthIndicator live = new TieredHealthIndicator("live", HealthTier.LIVENESS, HealthCheckCost.CHEAP);
+        HealthCheckService service = new HealthCheckService(List.of(live), executors, environment());
+        // Sin capacidad en el executor LIVENESS sigue respondiendo
+        executors.close();
+
+        HealthCheckResponse response = service.performHealthCheck(HealthTier.LIVENESS);
+
+        assertEquals(HealthStatus.UP, response.getOverallStatus());
+        assertSame(Thread.currentThread(), live.lastThread);
+    }
+
+    private static List<String> serviceNames(HealthCheckResponse response) {
+        return response.getServices().stream().map(ServiceHealth::getServiceName).toList();
+    }
+
+    private static MockEnvironment environment() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService(ApplicationConversionService.getSharedInstance());
+        environment.setProperty("health-check.timeout", "10s");
+        return environment;
+    }
+
+    /**
+     * Indicador UP con nivel y costo fijos que recuerda el hilo de su última ejecución
+     */
+    static class TieredHealthIndicator extends BaseHealthIndicator {
+
+        private final String name;
+        private final HealthTier tier;
+        private final HealthCheckCost cost;
+        private volatile Thread lastThread;
+
+        TieredHealthIndicator(String name, HealthTier tier, HealthCheckCost cost) {
+            this.name = name;
+            this.tier = tier;
+            this.cost = cost;
+        }
+
+        @Override
+        protected ServiceHealth doHealthCheck() {
+            lastThread = Thread.currentThread();
+            ServiceHealth serviceHealth = new ServiceHealth();
+            serviceHealth.setServiceName(name);
+            serviceHealth.setStatus(HealthStatus.UP);
+            return serviceHealth;
+        }
+
+        @Override
+        protected String getServiceName() {
+            return name;
+        }
+
+        @Override
+        public String getIndicatorKey() {
+            return name;
+        }
+
+        @Override
+        public HealthTier getTier() {
+            return tier;
+        }
+
+        @Override
+        public HealthCheckCost getCost() {
+            return cost;
+        }
+    }
+}
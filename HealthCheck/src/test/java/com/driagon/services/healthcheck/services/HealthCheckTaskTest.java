@@ -0,0 +1,97 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.configurations.HealthCheckExecutors;
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.indicators.BaseHealthIndicator;
+import com.driagon.services.healthcheck.indicators.HealthHistory;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Los checks cancelados por timeout quedan en el historial del indicador como fallos.
+ */
+class HealthCheckTaskTest {
+
+    private ExecutorService executor;
+    private HealthCheckExecutors executors;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        executors = new HealthCheckExecutors(executor, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executors.close();
+    }
+
+    @Test
+    void timedOutCheckIsRecordedOnceAsFailure() throws Exception {
+        HangingHealthIndicator indicator = new HangingHealthIndicator();
+
+        HealthCheckTask task = HealthCheckTask.start(indicator, executors, 100L);
+        ServiceHealth result = task.result().get(10, TimeUnit.SECONDS);
+
+        assertEquals(HealthStatus.DOWN, result.getStatus());
+        assertTrue(result.getMessage().startsWith("Timeout"));
+        assertTrue(indicator.started.await(10, TimeUnit.SECONDS));
+        // El executor tiene un solo hilo: esta tarea corre cuando el check cancelado ya terminó
+        executor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+
+        HealthHistory.Stats stats = indicator.getHistoryStats();
+        assertEquals(1, stats.samples());
+        assertEquals(1.0, stats.errorRate());
+        assertTrue(stats.maxMs() >= 100L, "latencia registrada: " + stats.maxMs());
+    }
+
+    @Test
+    void checkAbortedBeforeStartingIsNotRecorded() throws Exception {
+        HangingHealthIndicator indicator = new HangingHealthIndicator();
+
+        HealthCheckTask task = HealthCheckTask.create(indicator);
+        task.abort(HealthStatus.DOWN, "Tiempo límite global alcanzado");
+        task.start(executors, 100L);
+
+        assertEquals(HealthStatus.DOWN, task.result().get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(0, indicator.getHistoryStats().samples());
+    }
+
+    /**
+     * Indicador que solo termina al ser interrumpido
+     */
+    static class HangingHealthIndicator extends BaseHealthIndicator {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        protected ServiceHealth doHealthCheck() {
+            started.countDown();
+            ServiceHealth serviceHealth = new ServiceHealth();
+            serviceHealth.setServiceName(getServiceName());
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                serviceHealth.setStatus(HealthStatus.UP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                serviceHealth.setStatus(HealthStatus.DOWN);
+            }
+            return serviceHealth;
+        }
+
+        @Override
+        protected String getServiceName() {
+            return "hanging";
+        }
+    }
+}
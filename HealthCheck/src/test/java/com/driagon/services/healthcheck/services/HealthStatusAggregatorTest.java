@@ -0,0 +1,52 @@
+package com.driagon.services.healthcheck.services;
+
+import com.driagon.services.healthcheck.constants.HealthStatus;
+import com.driagon.services.healthcheck.models.ServiceHealth;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Agregación del estado general por gravedad.
+ */
+class HealthStatusAggregatorTest {
+
+    @Test
+    void worstStatusWins() {
+        HealthStatusAggregator aggregator = new HealthStatusAggregator(HealthStatus.DEGRADED);
+
+        assertEquals(HealthStatus.UNKNOWN, aggregator.aggregate(new ServiceHealth[0], new boolean[0]));
+        assertEquals(HealthStatus.UP, aggregate(aggregator, HealthStatus.UP, HealthStatus.UP));
+        assertEquals(HealthStatus.DEGRADED, aggregate(aggregator, HealthStatus.UP, HealthStatus.DEGRADED));
+        assertEquals(HealthStatus.UNKNOWN, aggregate(aggregator, HealthStatus.DEGRADED, HealthStatus.UNKNOWN));
+        assertEquals(HealthStatus.OUT_OF_SERVICE, aggregate(aggregator, HealthStatus.UNKNOWN, HealthStatus.OUT_OF_SERVICE));
+        assertEquals(HealthStatus.DOWN, aggregate(aggregator, HealthStatus.OUT_OF_SERVICE, HealthStatus.DOWN));
+    }
+
+    @Test
+    void nonCriticalDownCountsAsTheConfiguredStatus() {
+        for (HealthStatus configured : new HealthStatus[]{HealthStatus.DEGRADED, HealthStatus.UNKNOWN, HealthStatus.OUT_OF_SERVICE}) {
+            HealthStatusAggregator aggregator = new HealthStatusAggregator(configured);
+            ServiceHealth[] services = {service(HealthStatus.UP), service(HealthStatus.DOWN)};
+
+            assertEquals(configured, aggregator.aggregate(services, new boolean[]{true, false}));
+            assertEquals(HealthStatus.DOWN, aggregator.aggregate(services, new boolean[]{true, true}));
+        }
+    }
+
+    private static HealthStatus aggregate(HealthStatusAggregator aggregator, HealthStatus... statuses) {
+        ServiceHealth[] services = new ServiceHealth[statuses.length];
+        boolean[] critical = new boolean[statuses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            services[i] = service(statuses[i]);
+            critical[i] = true;
+        }
+        return aggregator.aggregate(services, critical);
+    }
+
+    private static ServiceHealth service(HealthStatus status) {
+        ServiceHealth serviceHealth = new ServiceHealth();
+        serviceHealth.setStatus(status);
+        return serviceHealth;
+    }
+}
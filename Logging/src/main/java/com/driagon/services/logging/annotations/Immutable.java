@@ -0,0 +1,18 @@
+package com.driagon.services.logging.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un tipo como inmutable para el enmascaramiento.
+ * Si la caché de representaciones está habilitada, la salida enmascarada de cada
+ * instancia se calcula una sola vez y se reutiliza en llamadas posteriores.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Immutable {
+}
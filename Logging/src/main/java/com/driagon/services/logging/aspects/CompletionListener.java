@@ -0,0 +1,15 @@
+package com.driagon.services.logging.aspects;
+
+/**
+ * Recibe el resultado de un método asíncrono o reactivo cuando se completa
+ */
+@FunctionalInterface
+interface CompletionListener {
+
+    /**
+     * @param result Resultado del método, o una descripción de la cancelación; null si terminó con error
+     * @param error Error con el que terminó, null si fue exitoso
+     * @param durationMs Duración hasta la señal de completado, error o cancelación
+     */
+    void onComplete(Object result, Throwable error, long durationMs);
+}
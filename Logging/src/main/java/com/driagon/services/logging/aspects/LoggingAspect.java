@@ -3,42 +3,62 @@ package com.driagon.services.logging.aspects;
 import com.driagon.services.logging.annotations.Loggable;
 import com.driagon.services.logging.constants.OperationTypeEnum;
 import com.driagon.services.logging.services.LoggingService;
+import com.driagon.services.logging.utils.ClassMetadata;
 import com.driagon.services.logging.utils.MaskingUtils;
+import com.driagon.services.logging.utils.MethodPlan;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 @Aspect
 public class LoggingAspect {
 
+    /**
+     * Métodos interceptados; compartido con {@link WeavedLoggingAspect}
+     */
+    static final String LOGGABLE_EXECUTION = "(@annotation(com.driagon.services.logging.annotations.Loggable) || @within(com.driagon.services.logging.annotations.Loggable)) && execution(* *(..))";
+
     private final LoggingService loggingService;
-    private static final Map<Method, Loggable> LOGGABLE_CACHE = new ConcurrentHashMap<>();
 
     public LoggingAspect(LoggingService loggingService) {
         this.loggingService = loggingService;
     }
 
-    @Around("(@annotation(com.driagon.services.logging.annotations.Loggable) || @within(com.driagon.services.logging.annotations.Loggable)) && execution(* *(..))")
+    @Around(LOGGABLE_EXECUTION)
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
-        Loggable loggable = getLoggableAnnotation(signature);
+        MethodPlan plan = ClassMetadata.planOf(method);
+        Loggable loggable = plan.getLoggable();
         if (loggable == null) return joinPoint.proceed();
 
         String methodName = signature.getName();
         String className = signature.getDeclaringType().getName(); // ✅ Obtener nombre completo de la clase
+
+        // Sin logs de entrada ni salida activos no se copian, formatean ni enmascaran los argumentos;
+        // solo se leen si el método lanza una excepción
+        if (plan.getResultType() == MethodPlan.ResultType.SYNC
+                && !((loggable.includeArgs() || loggable.includeResult()) && loggingService.isEnabled(className, loggable.level()))) {
+            try {
+                return joinPoint.proceed();
+            } catch (Exception ex) {
+                logException(className, methodName, method, joinPoint.getArgs(), ex, loggable);
+                throw ex;
+            }
+        }
+
         Object[] originalArgs = joinPoint.getArgs();
 
         // Formateamos el mensaje respetando las anotaciones de los parámetros
-        String message = loggingService.formatMessageWithArgs(loggable.message(), method, originalArgs);
+        String message = loggingService.formatMessageWithArgs(loggable.message(), plan, originalArgs);
 
         // Obtenemos los argumentos enmascarados para el log detallado
-        Object[] maskedArgs = MaskingUtils.processArguments(method, originalArgs);
+        Object[] maskedArgs = MaskingUtils.processArguments(plan, originalArgs);
 
         try {
             // Log entrada con argumentos enmascarados
@@ -50,6 +70,26 @@ public class LoggingAspect {
             // Ejecutar método con argumentos originales
             long startTime = System.currentTimeMillis();
             Object result = joinPoint.proceed();
+
+            // Los resultados asíncronos y reactivos se registran al completarse, no al retornar
+            if (result != null && plan.getResultType() != MethodPlan.ResultType.SYNC) {
+                CompletionListener listener = (value, error, elapsed) -> {
+                    if (error != null) {
+                        logException(className, methodName, method, originalArgs, error, loggable);
+                    } else if (loggable.includeResult()) {
+                        loggingService.logOperation(className, methodName, OperationTypeEnum.EXIT,
+                                loggable.level(), message, value, elapsed);
+                    }
+                };
+
+                if (plan.getResultType() == MethodPlan.ResultType.COMPLETION_STAGE) {
+                    ((CompletionStage<?>) result).whenComplete((value, error) ->
+                            listener.onComplete(value, unwrap(error), System.currentTimeMillis() - startTime));
+                    return result;
+                }
+                return ReactiveResultLogging.decorate(result, listener);
+            }
+
             long duration = System.currentTimeMillis() - startTime;
 
             // Log salida
@@ -60,27 +100,27 @@ public class LoggingAspect {
 
             return result;
         } catch (Exception ex) {
-            if (loggable.logUnexpectedExceptions() || loggable.exceptions().length > 0) {
-                loggingService.logException(
-                        className,
-                        methodName,
-                        method,
-                        originalArgs,
-                        ex,
-                        loggable.exceptions(),
-                        loggable.unexpectedExceptionLevel()
-                );
-            }
+            logException(className, methodName, method, originalArgs, ex, loggable);
             throw ex;
         }
     }
 
-    private Loggable getLoggableAnnotation(MethodSignature methodSignature) {
-        Method method = methodSignature.getMethod();
-        return LOGGABLE_CACHE.computeIfAbsent(method, m -> {
-            Loggable methodAnnotation = m.getAnnotation(Loggable.class);
-            if (methodAnnotation != null) return methodAnnotation;
-            return m.getDeclaringClass().getAnnotation(Loggable.class);
-        });
+    private void logException(String className, String methodName, Method method, Object[] originalArgs,
+                              Throwable ex, Loggable loggable) {
+        if (loggable.logUnexpectedExceptions() || loggable.exceptions().length > 0) {
+            loggingService.logException(
+                    className,
+                    methodName,
+                    method,
+                    originalArgs,
+                    ex,
+                    loggable.exceptions(),
+                    loggable.unexpectedExceptionLevel()
+            );
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.driagon.services.logging.aspects;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.MDC;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.driagon.services.logging.constants.LoggingMessages.FLUX_CANCELLED;
+import static com.driagon.services.logging.constants.LoggingMessages.FLUX_ELEMENTS;
+import static com.driagon.services.logging.constants.LoggingMessages.MONO_CANCELLED;
+import static com.driagon.services.logging.constants.LoggingMessages.OPERATION_KEY;
+
+/**
+ * Medición y log de métodos que retornan un Publisher de Reactive Streams.
+ * Un Mono se decora como Mono y cualquier otro Publisher como Flux.
+ * La duración se mide desde la suscripción hasta la señal de completado, error o cancelación.
+ * La operación se toma del Context de Reactor, no del MDC del hilo que se suscribe; solo se
+ * coloca en el MDC mientras se escribe el log.
+ * <p>
+ * Esta clase referencia tipos de Reactor y solo se carga cuando un método los retorna.
+ */
+final class ReactiveResultLogging {
+
+    private ReactiveResultLogging() {
+    }
+
+    static Object decorate(Object publisher, CompletionListener listener) {
+        if (publisher instanceof Mono<?> mono) {
+            return decorateMono(mono, listener);
+        }
+        if (publisher instanceof Publisher<?> source) {
+            // Flux.from retorna el mismo Flux si ya lo es
+            return decorateFlux(Flux.from(source), listener);
+        }
+        return publisher;
+    }
+
+    private static <T> Mono<T> decorateMono(Mono<T> mono, CompletionListener listener) {
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            String operation = context.getOrDefault(OPERATION_KEY, null);
+            // Una cancelación posterior al valor, como la de next() o block(), no se registra de nuevo
+            AtomicBoolean notified = new AtomicBoolean();
+            return mono
+                    .doOnSuccess(value -> notify(notified, listener, operation, value, null, start))
+                    .doOnError(error -> notify(notified, listener, operation, null, error, start))
+                    .doOnCancel(() -> notify(notified, listener, operation, MONO_CANCELLED, null, start));
+        });
+    }
+
+    private static <T> Flux<T> decorateFlux(Flux<T> flux, CompletionListener listener) {
+        return Flux.deferContextual(context -> {
+            long start = System.nanoTime();
+            String operation = context.getOrDefault(OPERATION_KEY, null);
+            // Las señales onNext de una suscripción son secuenciales
+            long[] elements = new long[1];
+            AtomicBoolean notified = new AtomicBoolean();
+            return flux
+                    .doOnNext(value -> elements[0]++)
+                    .doOnComplete(() -> notify(notified, listener, operation, String.format(FLUX_ELEMENTS, elements[0]), null, start))
+                    .doOnError(error -> notify(notified, listener, operation, null, error, start))
+                    .doOnCancel(() -> notify(notified, listener, operation, String.format(FLUX_CANCELLED, elements[0]), null, start));
+        });
+    }
+
+    private static void notify(AtomicBoolean notified, CompletionListener listener, String operation, Object result,
+                               Throwable error, long start) {
+        // La cancelación puede llegar desde otro hilo junto con la señal de término
+        if (!notified.compareAndSet(false, true)) {
+            return;
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (operation == null) {
+            listener.onComplete(result, error, durationMs);
+            return;
+        }
+        String previous = MDC.get(OPERATION_KEY);
+        MDC.put(OPERATION_KEY, operation);
+        try {
+            listener.onComplete(result, error, durationMs);
+        } finally {
+            if (previous != null) {
+                MDC.put(OPERATION_KEY, previous);
+            } else {
+                MDC.remove(OPERATION_KEY);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.driagon.services.logging.aspects;
+
+import com.driagon.services.logging.services.LoggingService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Variante de {@link LoggingAspect} para {@code logging.aspect.weaving=aspectj}.
+ * AspectJ la teje en el bytecode de los métodos {@code @Loggable}, ya sea en compilación (ajc) o al
+ * cargar las clases ({@code -javaagent:aspectjweaver.jar} con el {@code META-INF/aop.xml} de la aplicación), sin proxies:
+ * también intercepta self-invocations y métodos privados, finales o estáticos.
+ * <p>
+ * La instancia la crea AspectJ; Spring la obtiene con {@code Aspects.aspectOf} y le asigna el
+ * {@link LoggingService}. Hasta entonces, o si la aplicación usa el modo proxy, solo continúa la ejecución.
+ * El build del starter la procesa con ajc para publicarla con {@code aspectOf()}.
+ * <p>
+ * Al ser un aspecto de estilo anotación, el around solo puede continuar la ejecución con un
+ * {@link ProceedingJoinPoint}, por lo que AspectJ crea el join point en cada llamada interceptada.
+ */
+@Aspect
+public class WeavedLoggingAspect {
+
+    private volatile LoggingAspect delegate;
+
+    public void configure(LoggingService loggingService) {
+        this.delegate = new LoggingAspect(loggingService);
+    }
+
+    public boolean isConfigured() {
+        return delegate != null;
+    }
+
+    @Around(LoggingAspect.LOGGABLE_EXECUTION)
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        LoggingAspect current = delegate;
+        return current == null ? joinPoint.proceed() : current.logAround(joinPoint);
+    }
+}
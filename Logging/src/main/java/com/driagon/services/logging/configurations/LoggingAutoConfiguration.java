@@ -1,11 +1,24 @@
 package com.driagon.services.logging.configurations;
 
 import com.driagon.services.logging.aspects.LoggingAspect;
+import com.driagon.services.logging.aspects.WeavedLoggingAspect;
+import com.driagon.services.logging.endpoints.MaskingCacheEndpoint;
+import com.driagon.services.logging.filters.ReactiveRequestResponseLoggingFilter;
 import com.driagon.services.logging.filters.RequestResponseLoggingFilter;
 import com.driagon.services.logging.properties.FilterProperties;
+import com.driagon.services.logging.properties.MaskingProperties;
 import com.driagon.services.logging.services.LoggingService;
+import com.driagon.services.logging.utils.MaskedRenderingCache;
+import com.driagon.services.logging.utils.MaskingUtils;
+import org.aspectj.lang.Aspects;
+import org.aspectj.lang.NoAspectBoundException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,8 +26,7 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.core.env.Environment;
 
 @Configuration
-@EnableAspectJAutoProxy
-@EnableConfigurationProperties({FilterProperties.class})
+@EnableConfigurationProperties({FilterProperties.class, MaskingProperties.class})
 @ConditionalOnProperty(prefix = "logging.aspect", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class LoggingAutoConfiguration {
 
@@ -25,20 +37,142 @@ public class LoggingAutoConfiguration {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "logging.masking.cache", name = "enabled", havingValue = "true")
     @ConditionalOnMissingBean
-    public LoggingAspect loggingAspect(LoggingService loggingService) {
-        return new LoggingAspect(loggingService);
+    public MaskedRenderingCache maskedRenderingCache(MaskingProperties maskingProperties) {
+        MaskingProperties.Cache cacheProperties = maskingProperties.getCache();
+        return new MaskedRenderingCache(
+                cacheProperties.getMaximumWeight(),
+                cacheProperties.getMaxEntryLength(),
+                cacheProperties.isIncludeRecords()
+        );
     }
 
+    /**
+     * Instala en {@link MaskingUtils} la {@link MaskedRenderingCache} que exista en el contexto, sea la
+     * autoconfigurada o una definida por la aplicación, y la retira al cerrar el contexto
+     */
     @Bean
+    public RenderingCacheInstaller maskedRenderingCacheInstaller(ObjectProvider<MaskedRenderingCache> maskedRenderingCache) {
+        return new RenderingCacheInstaller(maskedRenderingCache);
+    }
+
+    static class RenderingCacheInstaller implements SmartInitializingSingleton, DisposableBean {
+
+        private final ObjectProvider<MaskedRenderingCache> maskedRenderingCache;
+        private MaskedRenderingCache installed;
+
+        RenderingCacheInstaller(ObjectProvider<MaskedRenderingCache> maskedRenderingCache) {
+            this.maskedRenderingCache = maskedRenderingCache;
+        }
+
+        @Override
+        public void afterSingletonsInstantiated() {
+            installed = maskedRenderingCache.getIfAvailable();
+            if (installed != null) {
+                MaskingUtils.installRenderingCache(installed);
+            }
+        }
+
+        @Override
+        public void destroy() {
+            if (installed != null) {
+                MaskingUtils.uninstallRenderingCache(installed);
+                installed.invalidateAll();
+                installed = null;
+            }
+        }
+    }
+
+    /**
+     * Modo por defecto: {@link LoggingAspect} aplicado con proxies de Spring AOP
+     */
+    @Configuration
+    @EnableAspectJAutoProxy
+    @ConditionalOnProperty(prefix = "logging.aspect", name = "weaving", havingValue = "proxy", matchIfMissing = true)
+    static class ProxyWeavingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LoggingAspect loggingAspect(LoggingService loggingService) {
+            return new LoggingAspect(loggingService);
+        }
+    }
+
+    /**
+     * Modo AspectJ: {@link WeavedLoggingAspect} tejido en compilación o al cargar las clases.
+     * El bean es la instancia creada por AspectJ, configurada con el {@link LoggingService}
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "logging.aspect", name = "weaving", havingValue = "aspectj")
+    static class AspectJWeavingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public WeavedLoggingAspect weavedLoggingAspect(LoggingService loggingService) {
+            WeavedLoggingAspect aspect;
+            try {
+                aspect = Aspects.aspectOf(WeavedLoggingAspect.class);
+            } catch (NoAspectBoundException e) {
+                throw new IllegalStateException("logging.aspect.weaving=aspectj requiere tejer WeavedLoggingAspect "
+                        + "con ajc o iniciar la JVM con -javaagent:aspectjweaver.jar, declarándolo en el META-INF/aop.xml "
+                        + "de la aplicación", e);
+            }
+            aspect.configure(loggingService);
+            return aspect;
+        }
+    }
+
+    /**
+     * Filtro HTTP para aplicaciones servlet (Spring MVC)
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     @ConditionalOnProperty(prefix = "logging.filter", name = "enabled", havingValue = "true", matchIfMissing = true)
-    @ConditionalOnMissingBean
-    public RequestResponseLoggingFilter loggingFilter(Environment environment, FilterProperties filterProperties) {
-        return new RequestResponseLoggingFilter(
-                environment,
-                filterProperties.getExcludePaths(),
-                filterProperties.getRequestHeaders(),
-                filterProperties.getResponseHeaders()
-        );
+    static class ServletFilterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RequestResponseLoggingFilter loggingFilter(Environment environment, FilterProperties filterProperties) {
+            return new RequestResponseLoggingFilter(
+                    environment,
+                    filterProperties.getExcludePaths(),
+                    filterProperties.getRequestHeaders(),
+                    filterProperties.getResponseHeaders()
+            );
+        }
+    }
+
+    /**
+     * Filtro HTTP para aplicaciones reactivas (WebFlux)
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(name = "reactor.core.publisher.Mono")
+    @ConditionalOnProperty(prefix = "logging.filter", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ReactiveFilterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveRequestResponseLoggingFilter reactiveLoggingFilter(Environment environment, FilterProperties filterProperties) {
+            return new ReactiveRequestResponseLoggingFilter(
+                    environment,
+                    filterProperties.getExcludePaths(),
+                    filterProperties.getRequestHeaders(),
+                    filterProperties.getResponseHeaders()
+            );
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    @ConditionalOnProperty(prefix = "logging.masking.cache", name = "enabled", havingValue = "true")
+    static class MaskingCacheEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MaskingCacheEndpoint maskingCacheEndpoint(MaskedRenderingCache maskedRenderingCache) {
+            return new MaskingCacheEndpoint(maskedRenderingCache);
+        }
     }
 }
\ No newline at end of file
@@ -10,4 +10,8 @@ public final class LoggingMessages {
     public static final String SIN_MENSAJE_ERROR = "Sin mensaje de error";
     public static final String UNKNOWN = "unknown";
     public static final String METODO_ARGS = "Método: {} - Args: {}";
+    public static final String FLUX_ELEMENTS = "Flux[%d elementos]";
+    public static final String FLUX_CANCELLED = "Flux[cancelado tras %d elementos]";
+    public static final String MONO_CANCELLED = "Mono[cancelado]";
+    public static final String OPERATION_KEY = "OPERATION";
 }
\ No newline at end of file
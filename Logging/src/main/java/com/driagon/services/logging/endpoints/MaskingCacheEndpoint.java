@@ -0,0 +1,42 @@
+package com.driagon.services.logging.endpoints;
+
+import com.driagon.services.logging.utils.MaskedRenderingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Expone las estadísticas de la caché de representaciones enmascaradas vía actuator
+ */
+@Endpoint(id = "maskingcache")
+public class MaskingCacheEndpoint {
+
+    private final MaskedRenderingCache renderingCache;
+
+    public MaskingCacheEndpoint(MaskedRenderingCache renderingCache) {
+        this.renderingCache = renderingCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = renderingCache.stats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", renderingCache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        renderingCache.invalidateAll();
+    }
+}
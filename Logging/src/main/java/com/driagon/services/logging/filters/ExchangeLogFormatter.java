@@ -0,0 +1,108 @@
+package com.driagon.services.logging.filters;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Arma la línea por petición que registran {@link RequestResponseLoggingFilter} y
+ * {@link ReactiveRequestResponseLoggingFilter}, para que ambos filtros mantengan el mismo formato.
+ * Los headers se leen con una función por nombre, ya que cada API los expone de forma distinta.
+ */
+final class ExchangeLogFormatter {
+
+    private static final String COLON_STRING = ":";
+    private static final String SPACE_STRING = " ";
+    private static final String DASH = "-";
+
+    private static final String REQUEST_TIMESTAMP_STRING_LABEL = "Request Timestamp:";
+    private static final String REQUEST_CONTENT_LENGTH_STRING_LABEL = "Request Content Length:";
+    private static final String RESPONSE_TIMESTAMP_STRING_LABEL = "Response Timestamp:";
+    private static final String RESPONSE_TIME_STRING_LABEL = "Response Time:";
+    private static final String POD_LABEL = "Host:";
+    private static final String HOSTNAME_HEADER = "HOSTNAME";
+    private static final String METHOD_LABEL = "Method:";
+    private static final String OPERATION_LABEL = "Operation:";
+    private static final String STATUS_CODE_LABEL = "Status Code:";
+    private static final String NOT_PROVIDED = "Not Provided";
+
+    /**
+     * Status a informar cuando la respuesta aún no tiene uno asignado
+     */
+    static final int STATUS_NOT_PROVIDED = -1;
+
+    private final Environment environment;
+    private final Collection<String> requestHeaders;
+    private final Collection<String> responseHeaders;
+
+    ExchangeLogFormatter(Environment environment, Collection<String> requestHeaders, Collection<String> responseHeaders) {
+        this.environment = environment;
+        this.requestHeaders = requestHeaders;
+        this.responseHeaders = responseHeaders;
+    }
+
+    StringBuilder begin(Instant start) {
+        var header = new StringBuilder();
+        header.append(REQUEST_TIMESTAMP_STRING_LABEL).append(start).append(SPACE_STRING);
+        return header;
+    }
+
+    /**
+     * @param contentLength Largo del cuerpo de la petición, -1 si no se informó
+     * @param headerValues Valores de un header de la petición por nombre
+     */
+    void appendRequest(StringBuilder headerBuilder, String method, String path, String queryString, long contentLength,
+                       Function<String, ? extends Iterable<String>> headerValues) {
+        headerBuilder.append(METHOD_LABEL).append(method).append(SPACE_STRING)
+                .append(OPERATION_LABEL).append(path).append(SPACE_STRING);
+
+        if (StringUtils.isNotBlank(queryString) && !queryString.equals("null") && !queryString.equals("undefined") && !queryString.equals("empty")) {
+            headerBuilder.append(queryString).append(SPACE_STRING);
+        }
+
+        headerBuilder.append(REQUEST_CONTENT_LENGTH_STRING_LABEL).append(contentLength == -1 ? NOT_PROVIDED : contentLength).append(SPACE_STRING)
+                .append(POD_LABEL).append(environment.getProperty(HOSTNAME_HEADER)).append(SPACE_STRING);
+
+        appendHeaders(requestHeaders, headerValues, headerBuilder);
+    }
+
+    /**
+     * @param status Status de la respuesta o {@link #STATUS_NOT_PROVIDED}
+     * @param headerValues Valores de un header de la respuesta por nombre
+     */
+    void appendResponse(StringBuilder headerBuilder, int status, Function<String, ? extends Iterable<String>> headerValues) {
+        if (status == STATUS_NOT_PROVIDED) {
+            headerBuilder.append(STATUS_CODE_LABEL).append(NOT_PROVIDED).append(SPACE_STRING);
+        } else {
+            HttpStatus httpStatus = HttpStatus.resolve(status);
+            headerBuilder.append(STATUS_CODE_LABEL).append(status).append(SPACE_STRING).append(DASH).append(SPACE_STRING)
+                    .append(httpStatus != null ? httpStatus.getReasonPhrase() : NOT_PROVIDED).append(SPACE_STRING);
+        }
+
+        appendHeaders(responseHeaders, headerValues, headerBuilder);
+    }
+
+    String finish(StringBuilder headerBuilder, Instant start) {
+        var end = Instant.now();
+        headerBuilder.append(RESPONSE_TIMESTAMP_STRING_LABEL).append(end).append(SPACE_STRING);
+        headerBuilder.append(RESPONSE_TIME_STRING_LABEL).append(ChronoUnit.MILLIS.between(start, end)).append(" ms");
+        return headerBuilder.toString();
+    }
+
+    private static void appendHeaders(Collection<String> headers, Function<String, ? extends Iterable<String>> headerValues,
+                                      StringBuilder headerBuilder) {
+        if (!CollectionUtils.isEmpty(headers)) {
+            for (var headerName : headers) {
+                for (var headerValue : headerValues.apply(headerName)) {
+                    headerBuilder.append(headerName).append(COLON_STRING).append(headerValue).append(SPACE_STRING);
+                }
+            }
+        }
+    }
+}
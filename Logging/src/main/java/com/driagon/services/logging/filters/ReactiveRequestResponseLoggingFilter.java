@@ -0,0 +1,82 @@
+package com.driagon.services.logging.filters;
+
+import com.driagon.services.logging.utils.MaskedLogger;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.MDC;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import static com.driagon.services.logging.constants.LoggingMessages.OPERATION_KEY;
+
+/**
+ * Equivalente WebFlux de {@link RequestResponseLoggingFilter}: registra la misma línea por petición
+ * al completarse la respuesta, sin bloquear el event loop.
+ * La operación ({@code METHOD /ruta}) se propaga en el Context de Reactor con la clave {@code OPERATION}
+ * para que el aspecto la use al registrar resultados reactivos.
+ */
+public class ReactiveRequestResponseLoggingFilter implements WebFilter {
+
+    private final Collection<String> excludePaths;
+    private final ExchangeLogFormatter formatter;
+
+    private static final MaskedLogger log = MaskedLogger.getLogger(ReactiveRequestResponseLoggingFilter.class);
+
+    public ReactiveRequestResponseLoggingFilter(Environment environment, Collection<String> excludePaths, Collection<String> requestHeaders, Collection<String> responseHeaders) {
+        this.excludePaths = excludePaths;
+        this.formatter = new ExchangeLogFormatter(environment, requestHeaders, responseHeaders);
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        if (!CollectionUtils.isEmpty(excludePaths) && excludePaths.stream().anyMatch(excludePath -> StringUtils.endsWithIgnoreCase(path, excludePath))) {
+            return chain.filter(exchange);
+        }
+
+        String operation = request.getMethod().name() + " " + path;
+        return Mono.defer(() -> {
+            Instant start = Instant.now();
+            return chain.filter(exchange)
+                    .doFinally(signal -> logExchange(exchange, operation, start));
+        }).contextWrite(context -> context.put(OPERATION_KEY, operation));
+    }
+
+    private void logExchange(ServerWebExchange exchange, String operation, Instant start) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpStatusCode statusCode = response.getStatusCode();
+
+        var header = formatter.begin(start);
+        formatter.appendRequest(header, request.getMethod().name(), request.getPath().value(), request.getURI().getRawQuery(),
+                request.getHeaders().getContentLength(), request.getHeaders()::getOrEmpty);
+        formatter.appendResponse(header, statusCode != null ? statusCode.value() : ExchangeLogFormatter.STATUS_NOT_PROVIDED,
+                response.getHeaders()::getOrEmpty);
+        String line = formatter.finish(header, start);
+
+        // doFinally corre en el hilo que completa la respuesta: la operación se coloca en el MDC solo para este log
+        String previous = MDC.get(OPERATION_KEY);
+        MDC.put(OPERATION_KEY, operation);
+        try {
+            log.info(line);
+        } finally {
+            if (previous != null) {
+                MDC.put(OPERATION_KEY, previous);
+            } else {
+                MDC.remove(OPERATION_KEY);
+            }
+        }
+    }
+}
@@ -1,54 +1,41 @@
 package com.driagon.services.logging.filters;
 
 import com.driagon.services.logging.utils.MaskedLogger;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.env.Environment;
-import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Collections;
 
+/**
+ * Registra una línea por petición con el método, la ruta, el status, los headers configurados y la duración.
+ * Solo usa metadatos de la petición y la respuesta: los cuerpos no se leen ni se almacenan, por lo que
+ * las respuestas en streaming (SSE, {@code StreamingResponseBody}) se envían sin buffer intermedio.
+ * <p>
+ * En las peticiones asíncronas ({@code DeferredResult}, {@code Callable}, SSE) la línea se registra
+ * al completarse realmente la petición, mediante un {@link AsyncListener}, con la duración total.
+ */
 public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
-    private static final String COLON_STRING = ":";
-    private static final String SPACE_STRING = " ";
-    private static final String DASH = "-";
-
-    private static final String REQUEST_TIMESTAMP_STRING_LABEL = "Request Timestamp:";
-    private static final String REQUEST_CONTENT_LENGTH_STRING_LABEL = "Request Content Length:";
-    private static final String RESPONSE_TIMESTAMP_STRING_LABEL = "Response Timestamp:";
-    private static final String RESPONSE_TIME_STRING_LABEL = "Response Time:";
-    private static final String POD_LABEL = "Host:";
-    private static final String HOSTNAME_HEADER = "HOSTNAME";
-    private static final String METHOD_LABEL = "Method:";
-    private static final String OPERATION_LABEL = "Operation:";
-    private static final String STATUS_CODE_LABEL = "Status Code:";
-    private static final String NOT_PROVIDED = "Not Provided";
-
-    private final Environment environment;
     private final Collection<String> excludePaths;
-    private final Collection<String> requestHeaders;
-    private final Collection<String> responseHeaders;
+    private final ExchangeLogFormatter formatter;
 
     private static final MaskedLogger log = MaskedLogger.getLogger(RequestResponseLoggingFilter.class);
 
     public RequestResponseLoggingFilter(Environment environment, Collection<String> excludePaths, Collection<String> requestHeaders, Collection<String> responseHeaders) {
-        this.environment = environment;
         this.excludePaths = excludePaths;
-        this.requestHeaders = requestHeaders;
-        this.responseHeaders = responseHeaders;
+        this.formatter = new ExchangeLogFormatter(environment, requestHeaders, responseHeaders);
     }
 
     @Override
@@ -59,93 +46,68 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
     @Override
     protected void doFilterInternal(final @NonNull HttpServletRequest request, final @NonNull HttpServletResponse response, final @NonNull FilterChain filterChain) throws ServletException, IOException {
-        var header = new StringBuilder();
-        var start = Instant.now();
-        header.append(REQUEST_TIMESTAMP_STRING_LABEL).append(start).append(SPACE_STRING);
-
         if (isAsyncDispatch(request)) {
+            // La línea la registra el AsyncListener de la petición original
             filterChain.doFilter(request, response);
-        } else {
-            doFilterWrapped(wrapRequest(request), wrapResponse(response), filterChain, header);
-            var end = Instant.now();
-            header.append(RESPONSE_TIMESTAMP_STRING_LABEL).append(end).append(SPACE_STRING);
-            header.append(RESPONSE_TIME_STRING_LABEL).append(ChronoUnit.MILLIS.between(start, end)).append(" ms");
-
-            log.info(header.toString());
-        }
-    }
-
-    private void doFilterWrapped(final ContentCachingRequestWrapper request, final ContentCachingResponseWrapper response, final FilterChain filterChain, final StringBuilder headerBuilder) throws ServletException, IOException {
-        try {
-            filterChain.doFilter(request, response);
-        } finally {
-            afterRequest(request, response, headerBuilder);
-            response.copyBodyToResponse();
+            return;
         }
-    }
-
-    private void afterRequest(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response, final StringBuilder headerBuilder) {
-        logRequest(request, headerBuilder);
-        logResponse(response, headerBuilder);
-    }
 
-    private void logRequest(ContentCachingRequestWrapper request, final StringBuilder headerBuilder) {
-        headerBuilder.append(METHOD_LABEL).append(request.getMethod()).append(SPACE_STRING)
-                .append(OPERATION_LABEL).append(request.getRequestURI()).append(SPACE_STRING);
+        var start = Instant.now();
+        // Si la cadena lanza una excepción no se registra la línea: el status que se informaría aún no es
+        // el definitivo, lo asigna quien maneje la excepción (el contenedor o la página de error)
+        filterChain.doFilter(request, response);
 
-        var queryString = request.getQueryString();
-        if (StringUtils.isNotBlank(queryString) && !queryString.equals("null") && !queryString.equals("undefined") && !queryString.equals("empty")) {
-            headerBuilder.append(queryString).append(SPACE_STRING);
+        if (isAsyncStarted(request)) {
+            request.getAsyncContext().addListener(new CompletionListener(request, response, start));
+        } else {
+            logExchange(request, response, start);
         }
+    }
 
-        var contentLength = request.getContentLengthLong();
-        headerBuilder.append(REQUEST_CONTENT_LENGTH_STRING_LABEL).append(contentLength == -1 ? NOT_PROVIDED : contentLength).append(SPACE_STRING)
-                .append(POD_LABEL).append(environment.getProperty(HOSTNAME_HEADER)).append(SPACE_STRING);
+    private void logExchange(HttpServletRequest request, HttpServletResponse response, Instant start) {
+        var header = formatter.begin(start);
+        formatter.appendRequest(header, request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                request.getContentLengthLong(), headerName -> Collections.list(request.getHeaders(headerName)));
+        formatter.appendResponse(header, response.getStatus(), response::getHeaders);
 
-        logHeaders(requestHeaders, request, headerBuilder);
+        log.info(formatter.finish(header, start));
     }
 
-    private void logResponse(ContentCachingResponseWrapper response, final StringBuilder headerBuilder) {
-        var status = response.getStatus();
-        var statusDescription = HttpStatus.valueOf(status).getReasonPhrase();
-        headerBuilder.append(STATUS_CODE_LABEL).append(status).append(SPACE_STRING).append(DASH).append(SPACE_STRING)
-                .append(statusDescription).append(SPACE_STRING);
+    /**
+     * Registra la línea cuando termina la petición asíncrona. Ante un timeout o error el contenedor
+     * también invoca onComplete, por lo que la línea se registra una sola vez.
+     */
+    private final class CompletionListener implements AsyncListener {
 
-        logHeaders(responseHeaders, response, headerBuilder);
-    }
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final Instant start;
 
-    private void logHeaders(Collection<String> headers, HttpServletRequest request, StringBuilder headerBuilder) {
-        if (!CollectionUtils.isEmpty(headers)) {
-            for (var headerName : headers) {
-                var headerValues = Collections.list(request.getHeaders(headerName));
-                for (var headerValue : headerValues) {
-                    headerBuilder.append(headerName).append(COLON_STRING).append(headerValue).append(SPACE_STRING);
-                }
-            }
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, Instant start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
         }
-    }
 
-    private void logHeaders(Collection<String> headers, HttpServletResponse response, StringBuilder headerBuilder) {
-        if (!CollectionUtils.isEmpty(headers)) {
-            for (var headerName : headers) {
-                for (var headerValue : response.getHeaders(headerName)) {
-                    headerBuilder.append(headerName).append(COLON_STRING).append(headerValue).append(SPACE_STRING);
-                }
-            }
+        @Override
+        public void onComplete(AsyncEvent event) {
+            logExchange(request, response, start);
         }
-    }
 
-    private ContentCachingRequestWrapper wrapRequest(final HttpServletRequest request) {
-        if (request instanceof ContentCachingRequestWrapper) {
-            return (ContentCachingRequestWrapper) request;
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Se registra en onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Se registra en onComplete
         }
-        return new ContentCachingRequestWrapper(request);
-    }
 
-    private ContentCachingResponseWrapper wrapResponse(final HttpServletResponse response) {
-        if (response instanceof ContentCachingResponseWrapper) {
-            return (ContentCachingResponseWrapper) response;
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Un nuevo ciclo asíncrono descarta los listeners: se vuelve a registrar
+            event.getAsyncContext().addListener(this);
         }
-        return new ContentCachingResponseWrapper(response);
     }
 }
\ No newline at end of file
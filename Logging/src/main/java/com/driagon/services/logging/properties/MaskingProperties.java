@@ -0,0 +1,68 @@
+package com.driagon.services.logging.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "logging.masking")
+public class MaskingProperties {
+
+    private final Cache cache = new Cache();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Cache {
+
+        /**
+         * Habilita la caché de representaciones enmascaradas para tipos inmutables
+         */
+        private boolean enabled = false;
+
+        /**
+         * Peso máximo total de la caché, medido en caracteres de las representaciones
+         */
+        private long maximumWeight = 1_000_000L;
+
+        /**
+         * Longitud máxima de una representación para ser cacheada
+         */
+        private int maxEntryLength = 4_096;
+
+        /**
+         * Considera inmutables sin necesidad de @Immutable a los records cuyos componentes son todos inmutables
+         */
+        private boolean includeRecords = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public int getMaxEntryLength() {
+            return maxEntryLength;
+        }
+
+        public void setMaxEntryLength(int maxEntryLength) {
+            this.maxEntryLength = maxEntryLength;
+        }
+
+        public boolean isIncludeRecords() {
+            return includeRecords;
+        }
+
+        public void setIncludeRecords(boolean includeRecords) {
+            this.includeRecords = includeRecords;
+        }
+    }
+}
@@ -1,16 +1,16 @@
 package com.driagon.services.logging.services;
 
 import com.driagon.services.logging.annotations.ExceptionLog;
-import com.driagon.services.logging.annotations.Exclude;
 import com.driagon.services.logging.annotations.Mask;
 import com.driagon.services.logging.constants.Level;
 import com.driagon.services.logging.constants.OperationTypeEnum;
+import com.driagon.services.logging.utils.ClassMetadata;
 import com.driagon.services.logging.utils.MaskingUtils;
+import com.driagon.services.logging.utils.MethodPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -97,6 +97,19 @@ public class LoggingService {
                 .orElse(SIN_MENSAJE_ERROR);
     }
 
+    /**
+     * Indica si un log con el nivel indicado se escribiría, con el mismo criterio de niveles que {@link #log}
+     */
+    public boolean isEnabled(String className, Level level) {
+        Logger logger = LoggerFactory.getLogger(className);
+        return switch (level) {
+            case DEBUG -> logger.isDebugEnabled();
+            case INFO -> logger.isInfoEnabled();
+            case WARN -> logger.isWarnEnabled();
+            default -> logger.isErrorEnabled();
+        };
+    }
+
     private void log(Logger logger, Level level, String message, Object... args) {
         switch (level) {
             case DEBUG -> logger.debug(message, args);
@@ -111,18 +124,25 @@ public class LoggingService {
     public String formatMessageWithArgs(String message, Method method, Object[] args) {
         if (message == null || message.isBlank() || args == null) return "";
 
+        return formatMessageWithArgs(message, ClassMetadata.planOf(method), args);
+    }
+
+    // Igual que el anterior, reutilizando el plan precalculado del método
+    public String formatMessageWithArgs(String message, MethodPlan plan, Object[] args) {
+        if (message == null || message.isBlank() || args == null) return "";
+
         String result = message;
-        Parameter[] parameters = method.getParameters();
 
         for (int i = 0; i < args.length; i++) {
             String placeholder = "{" + i + "}";
             if (!result.contains(placeholder)) continue;
 
             String value;
-            if (i < parameters.length && parameters[i].isAnnotationPresent(Mask.class)) {
+            Mask mask = plan.getMask(i);
+            if (mask != null) {
                 // Si el parámetro tiene @Mask, aplicamos el enmascaramiento
-                value = MaskingUtils.maskField(args[i], parameters[i].getAnnotation(Mask.class));
-            } else if (i < parameters.length && parameters[i].isAnnotationPresent(Exclude.class)) {
+                value = MaskingUtils.maskField(args[i], mask);
+            } else if (plan.isExcluded(i)) {
                 // Si el parámetro tiene @Exclude, lo ocultamos
                 value = "[EXCLUDED]";
             } else {
@@ -135,4 +155,4 @@ public class LoggingService {
 
         return result;
     }
-}
\ No newline at end of file
+}
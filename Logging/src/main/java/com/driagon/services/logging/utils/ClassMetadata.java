@@ -0,0 +1,157 @@
+package com.driagon.services.logging.utils;
+
+import com.driagon.services.logging.annotations.Immutable;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metadatos compartidos por clase para el enmascaramiento, la resolución del
+ * método que llama al logger y los planes del aspecto.
+ * Se guardan en un ClassValue, por lo que las lecturas no bloquean, no generan
+ * llaves de tipo String y se liberan junto con el class loader de la clase.
+ */
+public final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    /**
+     * Tipos finales del JDK cuyas instancias no cambian de estado
+     */
+    private static final Set<Class<?>> IMMUTABLE_VALUE_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class, Class.class
+    );
+
+    private final Class<?> type;
+    private final boolean immutable;
+    private volatile Boolean deeplyImmutableRecord;
+    private final Map<Method, MethodPlan> methodPlans = new ConcurrentHashMap<>();
+    private volatile MaskingPlan maskingPlan;
+    private volatile Map<String, Method[]> methodsByName;
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+        this.immutable = type.isAnnotationPresent(Immutable.class);
+    }
+
+    public static ClassMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * Plan de un método declarado en esta clase: anotación @Loggable y configuración de sus parámetros
+     */
+    public static MethodPlan planOf(Method method) {
+        return of(method.getDeclaringClass()).methodPlan(method);
+    }
+
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    public boolean isRecord() {
+        return type.isRecord();
+    }
+
+    /**
+     * Indica si es un record cuyos componentes son todos de tipos inmutables (primitivos, String, enums,
+     * java.time, tipos {@link Immutable} u otros records que cumplen lo mismo).
+     * Un record con una lista, un mapa o un arreglo solo es inmutable en su primer nivel.
+     */
+    public boolean isDeeplyImmutableRecord() {
+        Boolean result = deeplyImmutableRecord;
+        if (result == null) {
+            result = type.isRecord() && isImmutableType(type, new HashSet<>());
+            deeplyImmutableRecord = result;
+        }
+        return result;
+    }
+
+    private static boolean isImmutableType(Class<?> candidate, Set<Class<?>> visiting) {
+        if (candidate.isPrimitive() || candidate.isEnum() || IMMUTABLE_VALUE_TYPES.contains(candidate)
+                || candidate.isAnnotationPresent(Immutable.class)
+                || (candidate.getPackageName().equals("java.time") && Modifier.isFinal(candidate.getModifiers()))) {
+            return true;
+        }
+        if (!candidate.isRecord()) {
+            return false;
+        }
+        if (!visiting.add(candidate)) {
+            // Record recursivo: se decide con el resto de sus componentes
+            return true;
+        }
+        for (RecordComponent component : candidate.getRecordComponents()) {
+            if (!isImmutableType(component.getType(), visiting)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public MethodPlan methodPlan(Method method) {
+        return methodPlans.computeIfAbsent(method, MethodPlan::new);
+    }
+
+    /**
+     * Busca un método declarado por nombre, desambiguando sobrecargas con su MethodType
+     */
+    public Method findMethod(String name, MethodType methodType) {
+        Method[] candidates = methodsByName().get(name);
+        if (candidates == null) {
+            return null;
+        }
+        if (candidates.length == 1 || methodType == null) {
+            return candidates[0];
+        }
+        for (Method candidate : candidates) {
+            if (Arrays.equals(candidate.getParameterTypes(), methodType.parameterArray())) {
+                return candidate;
+            }
+        }
+        return candidates[0];
+    }
+
+    MaskingPlan maskingPlan() {
+        MaskingPlan plan = maskingPlan;
+        if (plan == null) {
+            plan = MaskingPlan.build(type);
+            maskingPlan = plan;
+        }
+        return plan;
+    }
+
+    private Map<String, Method[]> methodsByName() {
+        Map<String, Method[]> methods = methodsByName;
+        if (methods == null) {
+            methods = new HashMap<>();
+            for (Method method : type.getDeclaredMethods()) {
+                methods.merge(method.getName(), new Method[]{method}, ClassMetadata::concat);
+            }
+            methodsByName = methods;
+        }
+        return methods;
+    }
+
+    private static Method[] concat(Method[] first, Method[] second) {
+        Method[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
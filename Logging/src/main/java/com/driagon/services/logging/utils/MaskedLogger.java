@@ -1,19 +1,14 @@
 package com.driagon.services.logging.utils;
 
-import com.driagon.services.logging.annotations.Exclude;
-import com.driagon.services.logging.annotations.Mask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class MaskedLogger {
 
     private final Logger logger;
-    private static final Map<String, Method> METHOD_CACHE = new ConcurrentHashMap<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
 
     private MaskedLogger(Logger logger) {
         this.logger = logger;
@@ -74,14 +69,9 @@ public class MaskedLogger {
 
         try {
             // Obtener información del método que llamó al logger
-            StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-            StackTraceElement callerElement = findCallerMethod(stackTrace);
-
-            if (callerElement != null) {
-                Method callerMethod = getMethodFromStackTrace(callerElement);
-                if (callerMethod != null) {
-                    return maskArgumentsWithMethod(callerMethod, args);
-                }
+            Method callerMethod = callerMethod();
+            if (callerMethod != null) {
+                return MaskingUtils.processArguments(ClassMetadata.planOf(callerMethod), args);
             }
         } catch (Exception e) {
             // Si hay algún error obteniendo el contexto, usar enmascaramiento básico
@@ -93,73 +83,15 @@ public class MaskedLogger {
     }
 
     /**
-     * Encuentra el método que llamó al logger en el stack trace
+     * Encuentra el método que llamó al logger recorriendo solo los frames necesarios de la pila.
+     * Las sobrecargas se distinguen por el MethodType del frame
      */
-    private StackTraceElement findCallerMethod(StackTraceElement[] stackTrace) {
-        boolean foundLogger = false;
-        for (StackTraceElement element : stackTrace) {
-            if (element.getClassName().equals(MaskedLogger.class.getName())) {
-                foundLogger = true;
-                continue;
-            }
-            if (foundLogger && !element.getClassName().equals(MaskedLogger.class.getName())) {
-                return element;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Obtiene el objeto Method a partir del stack trace element
-     */
-    private Method getMethodFromStackTrace(StackTraceElement element) {
-        String cacheKey = element.getClassName() + "." + element.getMethodName();
-
-        return METHOD_CACHE.computeIfAbsent(cacheKey, key -> {
-            try {
-                Class<?> callerClass = Class.forName(element.getClassName());
-                // Buscar métodos que coincidan con el nombre
-                Method[] methods = callerClass.getDeclaredMethods();
-                for (Method method : methods) {
-                    if (method.getName().equals(element.getMethodName())) {
-                        return method;
-                    }
-                }
-            } catch (ClassNotFoundException e) {
-                logger.debug("Could not find class for stack trace element: {}", element.getClassName());
-            }
-            return null;
-        });
-    }
-
-    /**
-     * Enmascara argumentos usando información del método
-     */
-    private Object[] maskArgumentsWithMethod(Method method, Object[] args) {
-        Parameter[] parameters = method.getParameters();
-        Object[] maskedArgs = new Object[args.length];
-
-        for (int i = 0; i < args.length; i++) {
-            Object arg = args[i];
-
-            // Si tenemos información del parámetro correspondiente
-            if (i < parameters.length) {
-                Parameter param = parameters[i];
-
-                if (param.isAnnotationPresent(Exclude.class)) {
-                    maskedArgs[i] = "[EXCLUDED]";
-                } else if (param.isAnnotationPresent(Mask.class)) {
-                    maskedArgs[i] = MaskingUtils.maskField(arg, param.getAnnotation(Mask.class));
-                } else {
-                    maskedArgs[i] = MaskingUtils.maskSensitiveData(arg);
-                }
-            } else {
-                // Si no hay parámetro correspondiente, usar enmascaramiento estándar
-                maskedArgs[i] = MaskingUtils.maskSensitiveData(arg);
-            }
-        }
-
-        return maskedArgs;
+    static Method callerMethod() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != MaskedLogger.class)
+                .findFirst()
+                .map(frame -> ClassMetadata.of(frame.getDeclaringClass()).findMethod(frame.getMethodName(), frame.getMethodType()))
+                .orElse(null));
     }
 
     // Métodos de verificación de nivel
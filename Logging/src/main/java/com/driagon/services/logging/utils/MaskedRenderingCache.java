@@ -0,0 +1,73 @@
+package com.driagon.services.logging.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Caché acotada de representaciones enmascaradas para objetos inmutables.
+ * Las llaves se comparan por identidad y se mantienen con referencias débiles,
+ * por lo que una entrada desaparece cuando el objeto deja de estar en uso.
+ * La expulsión por peso usa la política W-TinyLFU de Caffeine.
+ */
+public class MaskedRenderingCache implements AutoCloseable {
+
+    private final Cache<Object, String> cache;
+    private final int maxEntryLength;
+    private final boolean includeRecords;
+
+    public MaskedRenderingCache(long maximumWeight, int maxEntryLength, boolean includeRecords) {
+        this.maxEntryLength = maxEntryLength;
+        this.includeRecords = includeRecords;
+        this.cache = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(maximumWeight)
+                .weigher((Object key, String value) -> value.length())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Indica si las instancias del tipo pueden reutilizar su representación enmascarada.
+     * Los records solo se cachean si todos sus componentes son inmutables: uno con una lista,
+     * un mapa o un arreglo puede cambiar después de cacheado.
+     */
+    public boolean isCacheable(Class<?> clazz) {
+        ClassMetadata metadata = ClassMetadata.of(clazz);
+        return metadata.isImmutable() || (includeRecords && metadata.isDeeplyImmutableRecord());
+    }
+
+    /**
+     * Devuelve la representación cacheada del objeto o null si no existe
+     */
+    public String get(Object obj) {
+        return cache.getIfPresent(obj);
+    }
+
+    /**
+     * Guarda la representación enmascarada si no supera la longitud máxima configurada
+     */
+    public void put(Object obj, String rendering) {
+        if (rendering.length() <= maxEntryLength) {
+            cache.put(obj, rendering);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        MaskingUtils.uninstallRenderingCache(this);
+        cache.invalidateAll();
+    }
+}
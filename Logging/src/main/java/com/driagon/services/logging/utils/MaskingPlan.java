@@ -0,0 +1,155 @@
+package com.driagon.services.logging.utils;
+
+import com.driagon.services.logging.annotations.Exclude;
+import com.driagon.services.logging.annotations.Mask;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Metadatos de enmascaramiento de una clase, calculados una sola vez por tipo.
+ * Incluye los campos heredados de toda la jerarquía. Cada propiedad guarda su
+ * nombre, su configuración de @Mask/@Exclude y un MethodHandle para leer su
+ * valor sin volver a usar reflexión en cada llamada.
+ * Se guardan junto al resto de metadatos de la clase en {@link ClassMetadata}.
+ */
+final class MaskingPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String simpleName;
+    private final Property[] properties;
+
+    private MaskingPlan(String simpleName, Property[] properties) {
+        this.simpleName = simpleName;
+        this.properties = properties;
+    }
+
+    String getSimpleName() {
+        return simpleName;
+    }
+
+    Property[] getProperties() {
+        return properties;
+    }
+
+    static MaskingPlan build(Class<?> clazz) {
+        List<Property> properties = clazz.isRecord() ? recordProperties(clazz) : fieldProperties(clazz);
+        return new MaskingPlan(clazz.getSimpleName(), properties.toArray(new Property[0]));
+    }
+
+    /**
+     * Los records se leen a través de sus accesores públicos, sin setAccessible
+     */
+    private static List<Property> recordProperties(Class<?> clazz) {
+        List<Property> properties = new ArrayList<>();
+        for (RecordComponent component : clazz.getRecordComponents()) {
+            properties.add(Property.of(component.getName(), component, accessorHandle(component.getAccessor())));
+        }
+        return properties;
+    }
+
+    /**
+     * Aplana los campos de toda la jerarquía, empezando por los de la superclase más lejana
+     */
+    private static List<Property> fieldProperties(Class<?> clazz) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                // Saltar campos estáticos y sintéticos
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                properties.add(Property.of(field.getName(), field, fieldHandle(field)));
+            }
+        }
+        return properties;
+    }
+
+    private static MethodHandle accessorHandle(Method accessor) {
+        try {
+            return MethodHandles.publicLookup().unreflect(accessor).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // Records no públicos o en paquetes no exportados: intentar acceso directo
+            if (!accessor.trySetAccessible()) {
+                return null;
+            }
+            try {
+                return MethodHandles.lookup().unreflect(accessor).asType(GETTER_TYPE);
+            } catch (IllegalAccessException ex) {
+                return null;
+            }
+        }
+    }
+
+    private static MethodHandle fieldHandle(Field field) {
+        if (!field.trySetAccessible()) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    static final class Property {
+
+        private final String name;
+        private final MethodHandle getter;
+        private final boolean excluded;
+        private final Mask mask;
+
+        private Property(String name, MethodHandle getter, boolean excluded, Mask mask) {
+            this.name = name;
+            this.getter = getter;
+            this.excluded = excluded;
+            this.mask = mask;
+        }
+
+        private static Property of(String name, AnnotatedElement element, MethodHandle getter) {
+            return new Property(name, getter, element.isAnnotationPresent(Exclude.class), element.getAnnotation(Mask.class));
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isExcluded() {
+            return excluded;
+        }
+
+        Mask getMask() {
+            return mask;
+        }
+
+        boolean isReadable() {
+            return getter != null;
+        }
+
+        Object read(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,13 +1,9 @@
 package com.driagon.services.logging.utils;
 
-import com.driagon.services.logging.annotations.Exclude;
 import com.driagon.services.logging.annotations.Mask;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -17,6 +13,24 @@ import java.util.Map;
 
 public class MaskingUtils {
 
+    private static volatile MaskedRenderingCache renderingCache;
+
+    /**
+     * Instala la caché de representaciones enmascaradas para tipos inmutables
+     */
+    public static void installRenderingCache(MaskedRenderingCache cache) {
+        renderingCache = cache;
+    }
+
+    /**
+     * Retira la caché de representaciones si es la que está instalada actualmente
+     */
+    public static void uninstallRenderingCache(MaskedRenderingCache cache) {
+        if (renderingCache == cache) {
+            renderingCache = null;
+        }
+    }
+
     /**
      * Método helper para enmascarar manualmente un valor usando configuración por defecto
      * Útil para valores directos como request.getEmail()
@@ -78,51 +92,67 @@ public class MaskingUtils {
             return maskMap((Map<?, ?>) obj);
         }
 
+        // Para objetos inmutables, reutilizar la representación ya calculada
+        MaskedRenderingCache cache = renderingCache;
+        if (cache != null && cache.isCacheable(obj.getClass())) {
+            return maskCachedObjectFields(obj, cache);
+        }
+
         // Para objetos complejos, aplicar enmascaramiento a campos
         return maskObjectFields(obj);
     }
 
+    /**
+     * Enmascara un objeto inmutable consultando primero la caché de representaciones
+     */
+    private static String maskCachedObjectFields(Object obj, MaskedRenderingCache cache) {
+        String cached = cache.get(obj);
+        if (cached != null) {
+            return cached;
+        }
+
+        // No se calcula dentro de la caché porque el renderizado es recursivo y puede consultarla de nuevo
+        String rendering = maskObjectFields(obj);
+        cache.put(obj, rendering);
+        return rendering;
+    }
+
     /**
      * Enmascara campos de un objeto respetando SOLO anotaciones @Mask y @Exclude
+     * Los records se recorren por sus componentes y el resto de clases por sus campos
      */
     private static String maskObjectFields(Object obj) {
         if (obj == null) return "null";
 
-        Class<?> clazz = obj.getClass();
+        MaskingPlan plan = ClassMetadata.of(obj.getClass()).maskingPlan();
         StringBuilder result = new StringBuilder();
-        result.append(clazz.getSimpleName()).append("{");
-
-        Field[] fields = clazz.getDeclaredFields();
-        boolean first = true;
+        result.append(plan.getSimpleName()).append("{");
 
-        for (Field field : fields) {
-            // Saltar campos estáticos y sintéticos
-            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
-                continue;
-            }
-
-            if (!first) {
+        MaskingPlan.Property[] properties = plan.getProperties();
+        for (int i = 0; i < properties.length; i++) {
+            MaskingPlan.Property property = properties[i];
+            if (i > 0) {
                 result.append(", ");
             }
-            first = false;
+            result.append(property.getName()).append("=");
 
-            field.setAccessible(true);
-            try {
-                Object fieldValue = field.get(obj);
-                result.append(field.getName()).append("=");
-
-                // SOLO verificar anotaciones explícitas
-                if (field.isAnnotationPresent(Exclude.class)) {
-                    result.append("[EXCLUDED]");
-                } else if (field.isAnnotationPresent(Mask.class)) {
-                    Mask maskAnnotation = field.getAnnotation(Mask.class);
-                    result.append(maskField(fieldValue, maskAnnotation));
-                } else {
-                    // Sin anotaciones = mostrar valor normal (recursivo para objetos complejos)
-                    result.append(maskSensitiveData(fieldValue));
-                }
-            } catch (IllegalAccessException e) {
+            // SOLO verificar anotaciones explícitas
+            if (property.isExcluded()) {
+                result.append("[EXCLUDED]");
+            } else if (!property.isReadable()) {
                 result.append("[INACCESSIBLE]");
+            } else {
+                try {
+                    Object fieldValue = property.read(obj);
+                    if (property.getMask() != null) {
+                        result.append(maskField(fieldValue, property.getMask()));
+                    } else {
+                        // Sin anotaciones = mostrar valor normal (recursivo para objetos complejos)
+                        result.append(maskSensitiveData(fieldValue));
+                    }
+                } catch (RuntimeException e) {
+                    result.append("[INACCESSIBLE]");
+                }
             }
         }
 
@@ -245,21 +275,36 @@ public class MaskingUtils {
     public static Object[] processArguments(Method method, Object[] args) {
         if (method == null || args == null) return args;
 
-        Parameter[] parameters = method.getParameters();
-        Object[] result = new Object[args.length];
+        return processArguments(ClassMetadata.planOf(method), args);
+    }
+
+    /**
+     * Procesa los argumentos usando el plan precalculado del método
+     */
+    public static Object[] processArguments(MethodPlan plan, Object[] args) {
+        if (plan == null || args == null) return args;
 
+        Object[] result = new Object[args.length];
         for (int i = 0; i < args.length; i++) {
-            if (parameters[i].isAnnotationPresent(Exclude.class)) {
-                result[i] = "[EXCLUDED]";
-            } else if (parameters[i].isAnnotationPresent(Mask.class)) {
-                result[i] = maskField(args[i], parameters[i].getAnnotation(Mask.class));
-            } else {
-                result[i] = maskSensitiveData(args[i]);
-            }
+            result[i] = maskArgument(plan, i, args[i]);
         }
         return result;
     }
 
+    /**
+     * Enmascara un argumento según las anotaciones @Exclude/@Mask de su parámetro; si tiene ambas prevalece @Exclude
+     */
+    public static String maskArgument(MethodPlan plan, int index, Object arg) {
+        if (plan.isExcluded(index)) {
+            return "[EXCLUDED]";
+        }
+        Mask mask = plan.getMask(index);
+        if (mask != null) {
+            return maskField(arg, mask);
+        }
+        return maskSensitiveData(arg);
+    }
+
     /**
      * Utilidad para repetir un carácter n veces
      */
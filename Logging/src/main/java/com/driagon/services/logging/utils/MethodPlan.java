@@ -0,0 +1,89 @@
+package com.driagon.services.logging.utils;
+
+import com.driagon.services.logging.annotations.Exclude;
+import com.driagon.services.logging.annotations.Loggable;
+import com.driagon.services.logging.annotations.Mask;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Configuración precalculada de un método: su @Loggable efectivo, las
+ * anotaciones @Mask/@Exclude de cada parámetro y el tipo de resultado.
+ */
+public final class MethodPlan {
+
+    /**
+     * Cómo se obtiene el resultado del método: al retornar o al completarse
+     */
+    public enum ResultType {
+        SYNC,
+        COMPLETION_STAGE,
+        PUBLISHER
+    }
+
+    // Se resuelven solo si Reactor está en el classpath
+    private static final Class<?> PUBLISHER = optionalClass("org.reactivestreams.Publisher");
+    private static final Class<?> MONO = optionalClass("reactor.core.publisher.Mono");
+    private static final Class<?> FLUX = optionalClass("reactor.core.publisher.Flux");
+
+    private final Loggable loggable;
+    private final Mask[] parameterMasks;
+    private final boolean[] excludedParameters;
+    private final ResultType resultType;
+
+    MethodPlan(Method method) {
+        Loggable methodAnnotation = method.getAnnotation(Loggable.class);
+        this.loggable = methodAnnotation != null ? methodAnnotation : method.getDeclaringClass().getAnnotation(Loggable.class);
+
+        Parameter[] parameters = method.getParameters();
+        this.parameterMasks = new Mask[parameters.length];
+        this.excludedParameters = new boolean[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameterMasks[i] = parameters[i].getAnnotation(Mask.class);
+            excludedParameters[i] = parameters[i].isAnnotationPresent(Exclude.class);
+        }
+        this.resultType = resultTypeOf(method.getReturnType());
+    }
+
+    public Loggable getLoggable() {
+        return loggable;
+    }
+
+    public int getParameterCount() {
+        return parameterMasks.length;
+    }
+
+    public boolean isExcluded(int index) {
+        return index < excludedParameters.length && excludedParameters[index];
+    }
+
+    public Mask getMask(int index) {
+        return index < parameterMasks.length ? parameterMasks[index] : null;
+    }
+
+    public ResultType getResultType() {
+        return resultType;
+    }
+
+    private static ResultType resultTypeOf(Class<?> returnType) {
+        // El resultado decorado es un Mono o un Flux: el tipo declarado debe admitir ambos, como Mono,
+        // Flux, Publisher o CorePublisher. Las subclases propias de un Publisher se registran al retornar
+        if (MONO != null && PUBLISHER.isAssignableFrom(returnType)
+                && (returnType.isAssignableFrom(MONO) || returnType.isAssignableFrom(FLUX))) {
+            return ResultType.PUBLISHER;
+        }
+        if (CompletionStage.class.isAssignableFrom(returnType)) {
+            return ResultType.COMPLETION_STAGE;
+        }
+        return ResultType.SYNC;
+    }
+
+    private static Class<?> optionalClass(String className) {
+        ClassLoader classLoader = MethodPlan.class.getClassLoader();
+        return ClassUtils.isPresent(className, classLoader) ? ClassUtils.resolveClassName(className, classLoader) : null;
+    }
+}
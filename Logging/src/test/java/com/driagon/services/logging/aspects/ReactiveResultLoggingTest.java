@@ -0,0 +1,59 @@
+package com.driagon.services.logging.aspects;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Los resultados reactivos se registran una sola vez al completarse, fallar o cancelarse.
+ */
+class ReactiveResultLoggingTest {
+
+    private final List<Object> results = new ArrayList<>();
+    private final CompletionListener listener = (result, error, durationMs) -> results.add(error != null ? error : result);
+
+    @Test
+    void logsTheMonoValueOnce() {
+        Mono<?> mono = (Mono<?>) ReactiveResultLogging.decorate(Mono.just("a"), listener);
+
+        mono.block();
+
+        assertEquals(List.of("a"), results);
+    }
+
+    @Test
+    void logsACancelledMono() {
+        Mono<?> mono = (Mono<?>) ReactiveResultLogging.decorate(Mono.never(), listener);
+
+        mono.subscribe().dispose();
+
+        assertEquals(List.of("Mono[cancelado]"), results);
+    }
+
+    @Test
+    void logsTheElementsEmittedBeforeCancellation() {
+        Flux<?> flux = (Flux<?>) ReactiveResultLogging.decorate(Flux.range(1, 10), listener);
+
+        flux.take(3).collectList().block();
+
+        assertEquals(List.of("Flux[cancelado tras 3 elementos]"), results);
+    }
+
+    @Test
+    void decoratesAnyPublisherAsFlux() {
+        Publisher<Integer> publisher = subscriber -> Flux.just(1, 2).subscribe(subscriber);
+
+        Object decorated = ReactiveResultLogging.decorate(publisher, listener);
+        Flux<?> flux = assertInstanceOf(Flux.class, decorated);
+        flux.collectList().block();
+
+        assertEquals(List.of("Flux[2 elementos]"), results);
+    }
+}
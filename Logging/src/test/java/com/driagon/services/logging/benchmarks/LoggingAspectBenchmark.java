@@ -0,0 +1,88 @@
+package com.driagon.services.logging.benchmarks;
+
+import com.driagon.services.logging.aspects.LoggingAspect;
+import com.driagon.services.logging.aspects.WeavedLoggingAspect;
+import com.driagon.services.logging.services.LoggingService;
+import org.aspectj.lang.Aspects;
+import org.aspectj.weaver.loadtime.Agent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de un método {@code @Loggable} interceptado con un proxy CGLIB de Spring AOP
+ * ({@code logging.aspect.weaving=proxy}) y tejido por AspectJ ({@code logging.aspect.weaving=aspectj}),
+ * frente a la llamada directa. Los métodos no registran argumentos ni resultado, por lo que se mide
+ * solo la intercepción.
+ * Se ejecuta con el método main desde el classpath de test: el fork arranca con el agente de
+ * aspectjweaver y {@code META-INF/aop-benchmark.xml}, que solo teje {@link WovenOrders}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+    private ProxiedOrders direct;
+    private ProxiedOrders proxied;
+    private WovenOrders woven;
+
+    int quantity = 3;
+    int price = 7;
+
+    @Setup
+    public void setUp() {
+        LoggingService loggingService = new LoggingService();
+        direct = new ProxiedOrders();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ProxiedOrders());
+        // Spring Boot usa proxies de clase por defecto
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(loggingService));
+        proxied = factory.getProxy();
+
+        Aspects.aspectOf(WeavedLoggingAspect.class).configure(loggingService);
+        woven = new WovenOrders();
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.total(quantity, price);
+    }
+
+    @Benchmark
+    public int proxy() {
+        return proxied.total(quantity, price);
+    }
+
+    @Benchmark
+    public int woven() {
+        return woven.total(quantity, price);
+    }
+
+    public static void main(String[] args) throws RunnerException, URISyntaxException {
+        Path weaver = Path.of(Agent.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        new Runner(new OptionsBuilder()
+                .include(LoggingAspectBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-javaagent:" + weaver,
+                        "-Dorg.aspectj.weaver.loadtime.configuration=META-INF/aop-benchmark.xml")
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.driagon.services.logging.benchmarks;
+
+import com.driagon.services.logging.annotations.Exclude;
+import com.driagon.services.logging.annotations.Mask;
+import com.driagon.services.logging.utils.MaskingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de enmascarar un record, leído por sus accesores, frente a una clase equivalente leída por sus campos.
+ * Ambos tienen los mismos valores y anotaciones, y la caché de representaciones no está instalada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaskingBenchmark {
+
+    private final CustomerRecord customerRecord = new CustomerRecord("7", "Ana", "ana@mail.com", "secreta", 42);
+    private final CustomerClass customerClass = new CustomerClass("7", "Ana", "ana@mail.com", "secreta", 42);
+
+    @Benchmark
+    public String record() {
+        return MaskingUtils.maskSensitiveData(customerRecord);
+    }
+
+    @Benchmark
+    public String fields() {
+        return MaskingUtils.maskSensitiveData(customerClass);
+    }
+
+    public record CustomerRecord(String id, String name, @Mask String email, @Exclude String password, int age) {
+    }
+
+    public static class CustomerClass {
+        private final String id;
+        private final String name;
+        @Mask
+        private final String email;
+        @Exclude
+        private final String password;
+        private final int age;
+
+        public CustomerClass(String id, String name, String email, String password, int age) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.password = password;
+            this.age = age;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MaskingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
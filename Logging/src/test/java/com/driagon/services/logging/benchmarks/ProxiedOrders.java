@@ -0,0 +1,14 @@
+package com.driagon.services.logging.benchmarks;
+
+import com.driagon.services.logging.annotations.Loggable;
+
+/**
+ * Servicio interceptado con un proxy de Spring AOP; {@code META-INF/aop-benchmark.xml} no lo teje
+ */
+public class ProxiedOrders {
+
+    @Loggable(includeArgs = false, includeResult = false)
+    public int total(int quantity, int price) {
+        return quantity * price;
+    }
+}
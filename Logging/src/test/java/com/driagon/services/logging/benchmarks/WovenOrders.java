@@ -0,0 +1,14 @@
+package com.driagon.services.logging.benchmarks;
+
+import com.driagon.services.logging.annotations.Loggable;
+
+/**
+ * Servicio tejido al cargar la clase por {@code META-INF/aop-benchmark.xml}
+ */
+public class WovenOrders {
+
+    @Loggable(includeArgs = false, includeResult = false)
+    public int total(int quantity, int price) {
+        return quantity * price;
+    }
+}
@@ -0,0 +1,64 @@
+package com.driagon.services.logging.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Línea por petición compartida por los filtros servlet y WebFlux.
+ */
+class ExchangeLogFormatterTest {
+
+    private final ExchangeLogFormatter formatter = new ExchangeLogFormatter(
+            new MockEnvironment().withProperty("HOSTNAME", "pod-1"), List.of("X-Trace"), List.of("Content-Type"));
+
+    @Test
+    void formatsRequestAndResponse() {
+        Map<String, List<String>> requestHeaders = Map.of("X-Trace", List.of("abc"));
+        Map<String, List<String>> responseHeaders = Map.of("Content-Type", List.of("application/json"));
+
+        StringBuilder header = new StringBuilder();
+        formatter.appendRequest(header, "GET", "/users", "page=1", -1, name -> requestHeaders.getOrDefault(name, List.of()));
+        formatter.appendResponse(header, 404, name -> responseHeaders.getOrDefault(name, List.of()));
+
+        assertEquals("Method:GET Operation:/users page=1 Request Content Length:Not Provided Host:pod-1 X-Trace:abc "
+                        + "Status Code:404 - " + HttpStatus.NOT_FOUND.getReasonPhrase() + " Content-Type:application/json ",
+                header.toString());
+    }
+
+    @Test
+    void reportsMissingAndUnknownStatus() {
+        StringBuilder missing = new StringBuilder();
+        formatter.appendResponse(missing, ExchangeLogFormatter.STATUS_NOT_PROVIDED, name -> List.of());
+        StringBuilder unknown = new StringBuilder();
+        formatter.appendResponse(unknown, 599, name -> List.of());
+
+        assertEquals("Status Code:Not Provided ", missing.toString());
+        assertEquals("Status Code:599 - Not Provided ", unknown.toString());
+    }
+
+    @Test
+    void skipsPlaceholderQueryStrings() {
+        StringBuilder header = new StringBuilder();
+        formatter.appendRequest(header, "GET", "/users", "undefined", 12, name -> List.of());
+
+        assertEquals("Method:GET Operation:/users Request Content Length:12 Host:pod-1 ", header.toString());
+    }
+
+    @Test
+    void wrapsTheLineWithTimestamps() {
+        Instant start = Instant.now();
+
+        String line = formatter.finish(formatter.begin(start), start);
+
+        assertTrue(line.startsWith("Request Timestamp:" + start + " Response Timestamp:"), line);
+        assertTrue(line.endsWith(" ms"), line);
+    }
+}
@@ -0,0 +1,73 @@
+package com.driagon.services.logging.filters;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Momento en que {@link RequestResponseLoggingFilter} registra la línea: al volver la cadena, al completarse
+ * la petición asíncrona o nunca si la cadena lanza una excepción.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class RequestResponseLoggingFilterTest {
+
+    private static final String OPERATION = "Operation:/orders";
+
+    private final RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(
+            new MockEnvironment(), List.of(), List.of(), List.of());
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void logsSynchronousRequestsWhenTheChainReturns(CapturedOutput output) throws Exception {
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(201));
+
+        assertTrue(output.getOut().contains(OPERATION));
+        assertTrue(output.getOut().contains("Status Code:201"));
+    }
+
+    @Test
+    void doesNotLogWhenTheChainThrows(CapturedOutput output) {
+        assertThrows(ServletException.class, () -> filter.doFilter(request, response, (req, res) -> {
+            throw new ServletException("falla");
+        }));
+
+        assertFalse(output.getOut().contains(OPERATION));
+    }
+
+    @Test
+    void logsAsyncRequestsOnceWhenTheyComplete(CapturedOutput output) throws Exception {
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, response, (req, res) -> startAsync());
+        assertFalse(output.getOut().contains(OPERATION));
+
+        response.setStatus(202);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertTrue(output.getOut().contains("Status Code:202"));
+        assertEquals(1, output.getOut().split(OPERATION, -1).length - 1);
+    }
+
+    private void startAsync() {
+        StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(request, response);
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+        asyncWebRequest.startAsync();
+    }
+}
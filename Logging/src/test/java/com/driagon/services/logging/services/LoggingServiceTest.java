@@ -0,0 +1,48 @@
+package com.driagon.services.logging.services;
+
+import com.driagon.services.logging.annotations.Exclude;
+import com.driagon.services.logging.annotations.Mask;
+import com.driagon.services.logging.utils.MaskingUtils;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Precedencia de @Mask y @Exclude al formatear el mensaje de {@link com.driagon.services.logging.annotations.Loggable}.
+ */
+class LoggingServiceTest {
+
+    private final LoggingService loggingService = new LoggingService();
+
+    @Test
+    void maskWinsOverExcludeInTheMessage() throws NoSuchMethodException {
+        Method method = Methods.class.getDeclaredMethod("both", String.class);
+
+        String message = loggingService.formatMessageWithArgs("Tarjeta {0}", method, new Object[]{"4111111111111111"});
+
+        assertEquals("Tarjeta " + MaskingUtils.maskField("4111111111111111", method.getParameters()[0].getAnnotation(Mask.class)), message);
+    }
+
+    @Test
+    void excludeWinsOverMaskInTheArguments() throws NoSuchMethodException {
+        Method method = Methods.class.getDeclaredMethod("both", String.class);
+
+        assertEquals("[EXCLUDED]", MaskingUtils.processArguments(method, new Object[]{"4111111111111111"})[0]);
+    }
+
+    @Test
+    void excludedParametersAreHiddenInTheMessage() throws NoSuchMethodException {
+        Method method = Methods.class.getDeclaredMethod("excluded", String.class);
+
+        assertEquals("Clave [EXCLUDED]", loggingService.formatMessageWithArgs("Clave {0}", method, new Object[]{"secreta"}));
+    }
+
+    @SuppressWarnings("unused")
+    private interface Methods {
+        void both(@Mask @Exclude String card);
+
+        void excluded(@Exclude String password);
+    }
+}
@@ -0,0 +1,116 @@
+package com.driagon.services.logging.utils;
+
+import com.driagon.services.logging.annotations.Exclude;
+import com.driagon.services.logging.annotations.Immutable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regla de records profundamente inmutables y resolución de sobrecargas de {@link ClassMetadata} y {@link MaskedLogger}.
+ */
+class ClassMetadataTest {
+
+    @Test
+    void recordsOfImmutableComponentsAreDeeplyImmutable() {
+        assertTrue(ClassMetadata.of(Money.class).isDeeplyImmutableRecord());
+        assertTrue(ClassMetadata.of(Invoice.class).isDeeplyImmutableRecord());
+        assertTrue(ClassMetadata.of(Node.class).isDeeplyImmutableRecord());
+    }
+
+    @Test
+    void collectionsArraysAndMutableTypesBreakTheRule() {
+        assertFalse(ClassMetadata.of(Tagged.class).isDeeplyImmutableRecord());
+        assertFalse(ClassMetadata.of(Attributes.class).isDeeplyImmutableRecord());
+        assertFalse(ClassMetadata.of(Bytes.class).isDeeplyImmutableRecord());
+        assertFalse(ClassMetadata.of(Batch.class).isDeeplyImmutableRecord());
+    }
+
+    @Test
+    void onlyRecordsQualify() {
+        assertFalse(ClassMetadata.of(Rate.class).isDeeplyImmutableRecord());
+        assertTrue(ClassMetadata.of(Rate.class).isImmutable());
+    }
+
+    @Test
+    void findMethodDisambiguatesOverloadsWithTheMethodType() throws NoSuchMethodException {
+        ClassMetadata metadata = ClassMetadata.of(Overloads.class);
+
+        assertEquals(Overloads.class.getDeclaredMethod("save", String.class),
+                metadata.findMethod("save", MethodType.methodType(void.class, String.class)));
+        assertEquals(Overloads.class.getDeclaredMethod("save", String.class, String.class),
+                metadata.findMethod("save", MethodType.methodType(void.class, String.class, String.class)));
+        assertNull(metadata.findMethod("delete", null));
+    }
+
+    @Test
+    void maskedLoggerResolvesTheCallingOverload() {
+        Overloads overloads = new Overloads();
+
+        overloads.save("ana");
+        assertEquals(1, overloads.caller.getParameterCount());
+
+        overloads.save("ana", "secreta");
+        assertEquals(2, overloads.caller.getParameterCount());
+        assertEquals("[EXCLUDED]", MaskingUtils.processArguments(overloads.caller, new Object[]{"ana", "secreta"})[1]);
+    }
+
+    @Test
+    void plansAreSharedPerMethod() throws NoSuchMethodException {
+        Method method = Overloads.class.getDeclaredMethod("save", String.class);
+
+        assertSame(ClassMetadata.planOf(method), ClassMetadata.planOf(method));
+    }
+
+    enum Currency { CLP, USD }
+
+    record Money(BigDecimal amount, Currency currency) {
+    }
+
+    record Invoice(UUID id, Money total, Instant issuedAt, long number) {
+    }
+
+    record Node(String value, Node next) {
+    }
+
+    record Tagged(String name, List<String> tags) {
+    }
+
+    record Attributes(Map<String, String> values) {
+    }
+
+    record Bytes(byte[] content) {
+    }
+
+    record Batch(Invoice invoice, Tagged tagged) {
+    }
+
+    @Immutable
+    static final class Rate {
+        private final BigDecimal value = BigDecimal.ONE;
+    }
+
+    static class Overloads {
+        Method caller;
+
+        void save(String user) {
+            caller = MaskedLogger.callerMethod();
+        }
+
+        void save(String user, @Exclude String password) {
+            caller = MaskedLogger.callerMethod();
+        }
+    }
+}
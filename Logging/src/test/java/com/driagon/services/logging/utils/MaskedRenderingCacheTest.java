@@ -0,0 +1,116 @@
+package com.driagon.services.logging.utils;
+
+import com.driagon.services.logging.annotations.Immutable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Aciertos y fallos de {@link MaskedRenderingCache} y tipos que pueden reutilizar su representación.
+ */
+class MaskedRenderingCacheTest {
+
+    private MaskedRenderingCache cache;
+
+    @AfterEach
+    void uninstall() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    void immutableTypesAreRenderedOnce() {
+        install(1_000, 1_000, false);
+        Country country = new Country("CL");
+
+        String first = MaskingUtils.maskSensitiveData(country);
+        // La instancia cambia a propósito: un acierto devuelve la representación guardada
+        country.code = "AR";
+
+        assertEquals(first, MaskingUtils.maskSensitiveData(country));
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void mutableTypesNeverReachTheCache() {
+        install(1_000, 1_000, true);
+        Order order = new Order("A-1");
+
+        MaskingUtils.maskSensitiveData(order);
+        order.number = "A-2";
+
+        assertEquals("Order{number=A-2}", MaskingUtils.maskSensitiveData(order));
+        assertEquals(0, cache.stats().hitCount() + cache.stats().missCount());
+    }
+
+    @Test
+    void longRenderingsAreNotStored() {
+        install(1_000, 5, false);
+
+        MaskingUtils.maskSensitiveData(new Country("CL"));
+        MaskingUtils.maskSensitiveData(new Country("CL"));
+
+        assertEquals(0, cache.estimatedSize());
+        assertEquals(2, cache.stats().missCount());
+    }
+
+    @Test
+    void recordsRequireIncludeRecordsAndDeepImmutability() {
+        MaskedRenderingCache withoutRecords = new MaskedRenderingCache(1_000, 1_000, false);
+        MaskedRenderingCache withRecords = new MaskedRenderingCache(1_000, 1_000, true);
+
+        assertFalse(withoutRecords.isCacheable(Holiday.class));
+        assertTrue(withRecords.isCacheable(Holiday.class));
+        assertFalse(withRecords.isCacheable(Calendar.class));
+        assertTrue(withRecords.isCacheable(Country.class));
+    }
+
+    @Test
+    void closingUninstallsTheCache() {
+        install(1_000, 1_000, false);
+        Country country = new Country("CL");
+        cache.close();
+
+        MaskingUtils.maskSensitiveData(country);
+        country.code = "AR";
+
+        assertEquals("Country{code=AR}", MaskingUtils.maskSensitiveData(country));
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    private void install(long maximumWeight, int maxEntryLength, boolean includeRecords) {
+        cache = new MaskedRenderingCache(maximumWeight, maxEntryLength, includeRecords);
+        MaskingUtils.installRenderingCache(cache);
+    }
+
+    @Immutable
+    static class Country {
+        String code;
+
+        Country(String code) {
+            this.code = code;
+        }
+    }
+
+    static class Order {
+        String number;
+
+        Order(String number) {
+            this.number = number;
+        }
+    }
+
+    record Holiday(String name, LocalDate date) {
+    }
+
+    record Calendar(String name, List<Holiday> holidays) {
+    }
+}
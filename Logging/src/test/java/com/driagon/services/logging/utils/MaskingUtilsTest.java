@@ -0,0 +1,76 @@
+package com.driagon.services.logging.utils;
+
+import com.driagon.services.logging.annotations.Exclude;
+import com.driagon.services.logging.annotations.Mask;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Renderizado enmascarado de records por sus accesores y de clases con sus campos heredados.
+ */
+class MaskingUtilsTest {
+
+    @Test
+    void recordsAreReadThroughTheirAccessors() {
+        assertEquals("Account{id=acc-7, owner=Ana}", MaskingUtils.maskSensitiveData(new Account("7", "Ana")));
+    }
+
+    @Test
+    void maskAndExcludeApplyToRecordComponents() {
+        Card card = new Card("Ana", "4111111111111111", "123");
+
+        assertEquals("Card{holder=Ana, number=" + MaskingUtils.maskValue("4111111111111111") + ", cvv=[EXCLUDED]}",
+                MaskingUtils.maskSensitiveData(card));
+    }
+
+    @Test
+    void nestedRecordsAreMaskedRecursively() {
+        Payment payment = new Payment(new Card("Ana", "4111111111111111", "123"), 1500);
+
+        assertEquals("Payment{card=Card{holder=Ana, number=" + MaskingUtils.maskValue("4111111111111111")
+                + ", cvv=[EXCLUDED]}, amount=1500}", MaskingUtils.maskSensitiveData(payment));
+    }
+
+    @Test
+    void inheritedFieldsComeFirstFromTheFarthestSuperclass() {
+        Customer customer = new Customer();
+
+        assertEquals("Customer{id=1, createdBy=system, email=" + MaskingUtils.maskValue("ana@mail.com")
+                + ", password=[EXCLUDED]}", MaskingUtils.maskSensitiveData(customer));
+    }
+
+    @Test
+    void staticFieldsAreSkipped() {
+        assertEquals("Entity{id=1}", MaskingUtils.maskSensitiveData(new Entity()));
+    }
+
+    record Account(String id, String owner) {
+        @Override
+        public String id() {
+            return "acc-" + id;
+        }
+    }
+
+    record Card(String holder, @Mask String number, @Exclude String cvv) {
+    }
+
+    record Payment(Card card, long amount) {
+    }
+
+    static class Entity {
+        static final String TABLE = "entities";
+        private final String id = "1";
+    }
+
+    static class AuditedEntity extends Entity {
+        private final String createdBy = "system";
+    }
+
+    static class Customer extends AuditedEntity {
+        @Mask
+        private final String email = "ana@mail.com";
+        @Exclude
+        private final String password = "secreta";
+    }
+}
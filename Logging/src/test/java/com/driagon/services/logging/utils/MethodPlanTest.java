@@ -0,0 +1,61 @@
+package com.driagon.services.logging.utils;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tipo de resultado de {@link MethodPlan} según el tipo de retorno declarado.
+ */
+class MethodPlanTest {
+
+    @Test
+    void reactiveTypesThatAcceptTheDecoratedResultArePublishers() throws NoSuchMethodException {
+        assertEquals(MethodPlan.ResultType.PUBLISHER, resultType("mono"));
+        assertEquals(MethodPlan.ResultType.PUBLISHER, resultType("flux"));
+        assertEquals(MethodPlan.ResultType.PUBLISHER, resultType("publisher"));
+    }
+
+    @Test
+    void ownPublisherTypesAreLoggedOnReturn() throws NoSuchMethodException {
+        assertEquals(MethodPlan.ResultType.SYNC, resultType("ownPublisher"));
+    }
+
+    @Test
+    void completionStagesAndPlainValues() throws NoSuchMethodException {
+        assertEquals(MethodPlan.ResultType.COMPLETION_STAGE, resultType("future"));
+        assertEquals(MethodPlan.ResultType.SYNC, resultType("value"));
+    }
+
+    private static MethodPlan.ResultType resultType(String methodName) throws NoSuchMethodException {
+        return new MethodPlan(Methods.class.getDeclaredMethod(methodName)).getResultType();
+    }
+
+    @SuppressWarnings("unused")
+    private interface Methods {
+        Mono<String> mono();
+
+        Flux<String> flux();
+
+        Publisher<String> publisher();
+
+        OwnPublisher ownPublisher();
+
+        CompletableFuture<String> future();
+
+        String value();
+    }
+
+    private static final class OwnPublisher implements Publisher<String> {
+        @Override
+        public void subscribe(Subscriber<? super String> subscriber) {
+            Flux.just("a").subscribe(subscriber);
+        }
+    }
+}